@@ -0,0 +1,67 @@
+package com.antkorwin.xsync;
+
+import java.util.Objects;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * An item of {@link XSync#executeBatched}, which waits in the queue of a mutex
+ * until a holder of the key passes it to the batch handler.
+ * <p>
+ * The state of an item is changed and read only under the lock of the mutex.
+ *
+ * @author Korovin Anatoliy
+ */
+final class BatchedItem<ItemT> {
+
+	private final Object key;
+	private final ItemT item;
+	private boolean processed;
+	private Throwable failure;
+
+	BatchedItem(Object key, ItemT item) {
+		this.key = key;
+		this.item = item;
+	}
+
+	ItemT getItem() {
+		return item;
+	}
+
+	/**
+	 * @return true if the item is queued by the key,
+	 * a mutex may be shared by different keys (like in {@link StripedXMutexFactory})
+	 */
+	boolean isItemOf(Object key) {
+		return Objects.equals(this.key, key);
+	}
+
+	boolean isProcessed() {
+		return processed;
+	}
+
+	/**
+	 * Mark the item as processed by the batch handler.
+	 *
+	 * @param failure the exception of the batch handler, or null
+	 */
+	void processed(Throwable failure) {
+		this.processed = true;
+		this.failure = failure;
+	}
+
+	/**
+	 * Throw the exception of the batch handler which processed this item.
+	 */
+	void rethrowFailure() {
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure != null) {
+			throw new RuntimeException("The batch handler failed", failure);
+		}
+	}
+}
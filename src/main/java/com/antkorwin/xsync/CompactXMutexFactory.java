@@ -0,0 +1,325 @@
+package com.antkorwin.xsync;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * The factory of mutexes for a big count of live keys.
+ * <p>
+ * The table is an open-addressing hash table with linear probing:
+ * hashes of keys are in a primitive array and weak references to mutexes
+ * are in the parallel array, so the lookup of a key scans the sequential
+ * memory of hashes and reads just a reference and a mutex of the matched hash.
+ * The key is kept by the mutex, that's why a live key costs three objects:
+ * the mutex, the state of its lock and the weak reference to the mutex, instead of
+ * the entry, two weak references, the mutex and the state of its lock
+ * in the {@link XMutexFactoryImpl}.
+ * <p>
+ * The entry is removed after the mutex was collected by the GC,
+ * so the same value of a key gives the same mutex while this mutex is in use.
+ *
+ * @author Korovin Anatoliy
+ */
+public class CompactXMutexFactory<KeyT> implements XMutexFactory<KeyT> {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+	private static final int MAX_SEGMENTS = 1 << 16;
+
+	private final Segment<KeyT>[] segments;
+	private final int segmentShift;
+	private final int segmentMask;
+
+	/**
+	 * Create a mutex factory with default settings
+	 */
+	public CompactXMutexFactory() {
+		this(DEFAULT_INITIAL_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * Creating a mutex factory with custom settings
+	 *
+	 * @param initialCapacity  the expected count of live keys,
+	 *                         a big capacity prevents rehashing of a warming up table
+	 * @param concurrencyLevel the expected number of threads
+	 *                         that will concurrently create mutexes
+	 */
+	@SuppressWarnings("unchecked")
+	public CompactXMutexFactory(int initialCapacity, int concurrencyLevel) {
+		if (concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("Concurrency level must be positive");
+		}
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Initial capacity must not be negative");
+		}
+		int shift = 0;
+		int size = 1;
+		while (size < Math.min(concurrencyLevel, MAX_SEGMENTS)) {
+			shift++;
+			size <<= 1;
+		}
+		this.segmentShift = 32 - shift;
+		this.segmentMask = size - 1;
+		this.segments = new Segment[size];
+		int segmentCapacity = Segment.capacityFor((initialCapacity + size - 1) / size);
+		for (int i = 0; i < size; i++) {
+			segments[i] = new Segment<>(segmentCapacity);
+		}
+	}
+
+	/**
+	 * Creates and returns a mutex by the key.
+	 * If the mutex for this key already exists in the table,
+	 * then returns the same reference of the mutex.
+	 */
+	@Override
+	public XMutex<KeyT> getMutex(KeyT key) {
+		int hash = hash(key.hashCode());
+		return segments[(hash >>> segmentShift) & segmentMask].getMutex(key, hash);
+	}
+
+	/**
+	 * @return count of mutexes in this factory.
+	 */
+	@Override
+	public long size() {
+		long size = 0;
+		for (Segment<KeyT> segment : segments) {
+			size += segment.count;
+		}
+		return size;
+	}
+
+	/**
+	 * Remove any entries that have been garbage collected and are no longer referenced.
+	 * Under normal circumstances garbage collected entries are automatically purged
+	 * when new items are created by a factory. This method can be used to force a purge.
+	 */
+	public void purgeUnreferenced() {
+		for (Segment<KeyT> segment : segments) {
+			segment.purge();
+		}
+	}
+
+	/**
+	 * The finalization step of the MurmurHash3, it spreads bits of hash codes
+	 * to segments and slots, zero is reserved for empty slots.
+	 */
+	private static int hash(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h == 0 ? 1 : h;
+	}
+
+	/**
+	 * Weak reference to the mutex, the hash is kept
+	 * to find the slot of a collected mutex.
+	 */
+	private static final class MutexRef<KeyT> extends WeakReference<XMutex<KeyT>> {
+
+		private final int hash;
+
+		MutexRef(XMutex<KeyT> mutex, int hash, ReferenceQueue<XMutex<KeyT>> queue) {
+			super(mutex, queue);
+			this.hash = hash;
+		}
+	}
+
+	/**
+	 * Parallel arrays of the table, a slot is empty if its hash is zero.
+	 * Arrays are replaced together by the rehashing.
+	 */
+	private static final class Table<KeyT> {
+
+		private final int[] hashes;
+		private final AtomicReferenceArray<MutexRef<KeyT>> refs;
+		private final int mask;
+
+		Table(int capacity) {
+			this.hashes = new int[capacity];
+			this.refs = new AtomicReferenceArray<>(capacity);
+			this.mask = capacity - 1;
+		}
+	}
+
+	/**
+	 * Part of the table with an individual lock for writing.
+	 * Reading doesn't take the lock, it may miss an entry
+	 * which is being added or moved concurrently, in this case
+	 * the lookup is repeated under the lock.
+	 */
+	private static final class Segment<KeyT> extends ReentrantLock {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final int MIN_CAPACITY = 16;
+		private static final float LOAD_FACTOR = 0.75f;
+
+		private final ReferenceQueue<XMutex<KeyT>> queue = new ReferenceQueue<>();
+		private volatile Table<KeyT> table;
+		private volatile int count;
+		private int threshold;
+
+		Segment(int capacity) {
+			this.table = new Table<>(capacity);
+			this.threshold = (int) (capacity * LOAD_FACTOR);
+		}
+
+		/**
+		 * @return the power of two capacity which keeps the count of entries under the load factor
+		 */
+		static int capacityFor(int entries) {
+			int capacity = MIN_CAPACITY;
+			while (capacity * LOAD_FACTOR < entries) {
+				capacity <<= 1;
+			}
+			return capacity;
+		}
+
+		XMutex<KeyT> getMutex(KeyT key, int hash) {
+			XMutex<KeyT> mutex = find(key, hash);
+			if (mutex != null) {
+				return mutex;
+			}
+			lock();
+			try {
+				removeStale();
+				mutex = find(key, hash);
+				if (mutex == null) {
+					mutex = new XMutex<>(key);
+					insert(mutex, hash);
+				}
+				return mutex;
+			} finally {
+				unlock();
+			}
+		}
+
+		void purge() {
+			lock();
+			try {
+				removeStale();
+			} finally {
+				unlock();
+			}
+		}
+
+		private XMutex<KeyT> find(KeyT key, int hash) {
+			Table<KeyT> tab = table;
+			int[] hashes = tab.hashes;
+			int index = hash & tab.mask;
+			// the bound protects from a full table which is seen without the lock
+			for (int probes = 0; probes <= tab.mask; probes++) {
+				int slotHash = hashes[index];
+				if (slotHash == 0) {
+					return null;
+				}
+				if (slotHash == hash) {
+					MutexRef<KeyT> ref = tab.refs.get(index);
+					XMutex<KeyT> mutex = ref == null ? null : ref.get();
+					if (mutex != null && key.equals(mutex.getKey())) {
+						return mutex;
+					}
+				}
+				index = (index + 1) & tab.mask;
+			}
+			return null;
+		}
+
+		private void insert(XMutex<KeyT> mutex, int hash) {
+			if (count >= threshold) {
+				rehash();
+			}
+			put(table, new MutexRef<>(mutex, hash, queue));
+			count++;
+		}
+
+		private static <KeyT> void put(Table<KeyT> tab, MutexRef<KeyT> ref) {
+			int index = ref.hash & tab.mask;
+			while (tab.hashes[index] != 0) {
+				index = (index + 1) & tab.mask;
+			}
+			tab.hashes[index] = ref.hash;
+			// the volatile write publishes the hash too
+			tab.refs.set(index, ref);
+		}
+
+		private void rehash() {
+			Table<KeyT> oldTable = table;
+			int capacity = oldTable.hashes.length;
+			int live = 0;
+			for (int i = 0; i < capacity; i++) {
+				MutexRef<KeyT> ref = oldTable.refs.get(i);
+				if (ref != null && ref.get() != null) {
+					live++;
+				}
+			}
+			// collected mutexes are dropped, so the table may stay at the same size
+			Table<KeyT> newTable = new Table<>(live < threshold / 2 ? capacity : capacity << 1);
+			// a mutex may be collected after the counting, only moved entries are counted
+			live = 0;
+			for (int i = 0; i < capacity; i++) {
+				MutexRef<KeyT> ref = oldTable.refs.get(i);
+				if (ref != null && ref.get() != null) {
+					put(newTable, ref);
+					live++;
+				}
+			}
+			threshold = (int) (newTable.hashes.length * LOAD_FACTOR);
+			table = newTable;
+			// dropped references are still in the queue, they will not be found anymore
+			count = live;
+		}
+
+		private void removeStale() {
+			MutexRef<KeyT> stale;
+			while ((stale = poll()) != null) {
+				remove(stale);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private MutexRef<KeyT> poll() {
+			return (MutexRef<KeyT>) queue.poll();
+		}
+
+		/**
+		 * Remove the reference and shift next entries of the probe sequence back,
+		 * so the table doesn't need tombstones.
+		 */
+		private void remove(MutexRef<KeyT> stale) {
+			Table<KeyT> tab = table;
+			int index = stale.hash & tab.mask;
+			while (tab.refs.get(index) != stale) {
+				if (tab.hashes[index] == 0) {
+					// it was dropped by the rehashing
+					return;
+				}
+				index = (index + 1) & tab.mask;
+			}
+			int hole = index;
+			int next = (hole + 1) & tab.mask;
+			while (tab.hashes[next] != 0) {
+				int home = tab.hashes[next] & tab.mask;
+				// the entry can fill the hole if its home slot isn't in (hole, next]
+				if (((next - home) & tab.mask) >= ((next - hole) & tab.mask)) {
+					tab.hashes[hole] = tab.hashes[next];
+					tab.refs.set(hole, tab.refs.get(next));
+					hole = next;
+				}
+				next = (next + 1) & tab.mask;
+			}
+			tab.refs.set(hole, null);
+			tab.hashes[hole] = 0;
+			count--;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.antkorwin.xsync;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * The factory of mutexes, based on the {@link ConcurrentHashMap} of Java 8.
+ * <p>
+ * The map reads without locks, and writes lock only the bin of a key,
+ * so the creation of new mutexes isn't limited by the count of segments
+ * like in the {@link XMutexFactoryImpl}, it's useful on hosts with many cores.
+ * <p>
+ * Values of the map are weak references to mutexes, which keep the key of the entry.
+ * References of collected mutexes are removed from the map when a new mutex is created,
+ * so the getting of an existing mutex doesn't do any cleanup.
+ *
+ * @author Korovin Anatoliy
+ */
+public class ConcurrentHashMapXMutexFactory<KeyT> implements XMutexFactory<KeyT> {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	private final ConcurrentHashMap<KeyT, MutexRef<KeyT>> map;
+	private final ReferenceQueue<XMutex<KeyT>> queue = new ReferenceQueue<>();
+
+	/**
+	 * Create a mutex factory with default settings
+	 */
+	public ConcurrentHashMapXMutexFactory() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Creating a mutex factory with custom settings
+	 *
+	 * @param initialCapacity the expected count of live keys,
+	 *                        the map is sized to keep them without resizing
+	 */
+	public ConcurrentHashMapXMutexFactory(int initialCapacity) {
+		this.map = new ConcurrentHashMap<>(initialCapacity);
+	}
+
+	/**
+	 * Creates and returns a mutex by the key.
+	 * If the mutex for this key already exists in the map,
+	 * then returns the same reference of the mutex.
+	 */
+	@Override
+	public XMutex<KeyT> getMutex(KeyT key) {
+		MutexRef<KeyT> ref = map.get(key);
+		XMutex<KeyT> mutex = ref == null ? null : ref.get();
+		return mutex != null ? mutex : createMutex(key);
+	}
+
+	/**
+	 * @return count of mutexes in this factory.
+	 */
+	@Override
+	public long size() {
+		return map.mappingCount();
+	}
+
+	/**
+	 * Remove any entries that have been garbage collected and are no longer referenced.
+	 * Under normal circumstances garbage collected entries are automatically purged
+	 * when new items are created by a factory. This method can be used to force a purge.
+	 */
+	public void purgeUnreferenced() {
+		MutexRef<KeyT> stale;
+		while ((stale = poll()) != null) {
+			// the key may be mapped to a new mutex already
+			map.remove(stale.key, stale);
+		}
+	}
+
+	private XMutex<KeyT> createMutex(KeyT key) {
+		purgeUnreferenced();
+		XMutex<KeyT> mutex = new XMutex<>(key);
+		MutexRef<KeyT> created = new MutexRef<>(mutex, key, queue);
+		while (true) {
+			MutexRef<KeyT> current = map.putIfAbsent(key, created);
+			if (current == null) {
+				return mutex;
+			}
+			XMutex<KeyT> existing = current.get();
+			if (existing != null) {
+				// another thread created the mutex, the new one is collected with its reference
+				return existing;
+			}
+			if (map.replace(key, current, created)) {
+				return mutex;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private MutexRef<KeyT> poll() {
+		return (MutexRef<KeyT>) queue.poll();
+	}
+
+	/**
+	 * Weak reference to the mutex which keeps the key of the entry,
+	 * to remove the entry after the mutex was collected by the GC.
+	 */
+	private static final class MutexRef<KeyT> extends WeakReference<XMutex<KeyT>> {
+
+		private final KeyT key;
+
+		MutexRef(XMutex<KeyT> mutex, KeyT key, ReferenceQueue<XMutex<KeyT>> queue) {
+			super(mutex, queue);
+			this.key = key;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Built-in {@link XSyncMetrics} which records times of waiting
+ * and holding of locks to {@link LogLinearHistogram}s.
+ * <p>
+ * Times are recorded for all keys and tags together,
+ * use an instance per XSync to see them separately.
+ *
+ * @author Korovin Anatoliy
+ */
+public class HistogramXSyncMetrics implements XSyncMetrics {
+
+	private final LogLinearHistogram waitTime = new LogLinearHistogram();
+	private final LogLinearHistogram holdTime = new LogLinearHistogram();
+	private final LongAdder contended = new LongAdder();
+
+	@Override
+	public void acquired(Object key, String tag, long waitNanos, boolean contended) {
+		waitTime.record(waitNanos);
+		if (contended) {
+			this.contended.increment();
+		}
+	}
+
+	@Override
+	public void released(Object key, String tag, long holdNanos) {
+		holdTime.record(holdNanos);
+	}
+
+	/**
+	 * @return nanoseconds of waiting for locks, including zero waits of free locks
+	 */
+	public LogLinearHistogram getWaitTime() {
+		return waitTime;
+	}
+
+	/**
+	 * @return nanoseconds of holding locks
+	 */
+	public LogLinearHistogram getHoldTime() {
+		return holdTime;
+	}
+
+	/**
+	 * @return count of acquisitions of locks which were held by another thread
+	 */
+	public long getContendedCount() {
+		return contended.sum();
+	}
+}
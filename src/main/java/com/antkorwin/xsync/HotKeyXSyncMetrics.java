@@ -0,0 +1,170 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * {@link XSyncMetrics} which finds keys with the most of contended acquisitions,
+ * like a few "whale" accounts which cause the most of waiting for locks.
+ * <p>
+ * Counts of keys are estimated by a Count-Min sketch, and the keys with
+ * the biggest estimations are kept in a fixed array of candidates,
+ * so the memory doesn't depend on the count of different keys.
+ * Both of them are updated by atomic operations without locks,
+ * and only for contended acquisitions: an acquisition of a free lock
+ * returns from the listener at once.
+ * <p>
+ * All keys of a multi-key call are counted when any of their locks was contended.
+ *
+ * @author Korovin Anatoliy
+ */
+public class HotKeyXSyncMetrics implements XSyncMetrics {
+
+	private static final int DEPTH = 4;
+	private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+	private final int widthMask;
+	private final AtomicLongArray sketch;
+	private final AtomicReferenceArray<HotKey> candidates;
+
+	/**
+	 * Make the tracker of the top 32 contended keys.
+	 */
+	public HotKeyXSyncMetrics() {
+		this(32);
+	}
+
+	/**
+	 * Make the tracker of the top contended keys.
+	 *
+	 * @param capacity the count of tracked keys, the sketch is 32 times wider than it
+	 */
+	public HotKeyXSyncMetrics(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		int width = Integer.highestOneBit(capacity * 32 - 1) << 1;
+		this.widthMask = width - 1;
+		this.sketch = new AtomicLongArray(DEPTH * width);
+		this.candidates = new AtomicReferenceArray<>(capacity);
+	}
+
+	@Override
+	public void acquired(Object key, String tag, long waitNanos, boolean contended) {
+		if (!contended) {
+			return;
+		}
+		if (key instanceof Collection) {
+			for (Object item : (Collection<?>) key) {
+				record(item);
+			}
+		} else {
+			record(key);
+		}
+	}
+
+	/**
+	 * Make a snapshot of keys with the most of contended acquisitions.
+	 *
+	 * @param k the maximum count of keys, it's limited by the capacity of the tracker
+	 * @return keys ordered by the estimated count of contended acquisitions, from the biggest one
+	 */
+	public List<HotKey> topContendedKeys(int k) {
+		Map<Object, HotKey> merged = new HashMap<>();
+		for (int i = 0; i < candidates.length(); i++) {
+			HotKey candidate = candidates.get(i);
+			if (candidate != null) {
+				// concurrent updates may put the same key to two slots
+				merged.merge(candidate.key, candidate, (a, b) -> a.count >= b.count ? a : b);
+			}
+		}
+		List<HotKey> top = new ArrayList<>(merged.values());
+		top.sort(Comparator.comparingLong(HotKey::getCount).reversed());
+		return top.size() > k ? new ArrayList<>(top.subList(0, k)) : top;
+	}
+
+	private void record(Object key) {
+		long estimate = increment(key == null ? 0 : key.hashCode());
+		while (true) {
+			// the slot of this key, or the slot with the least count
+			int slot = -1;
+			HotKey current = null;
+			long least = Long.MAX_VALUE;
+			for (int i = 0; i < candidates.length(); i++) {
+				HotKey candidate = candidates.get(i);
+				if (candidate != null && Objects.equals(candidate.key, key)) {
+					slot = i;
+					current = candidate;
+					break;
+				}
+				long count = candidate == null ? -1 : candidate.count;
+				if (count < least) {
+					slot = i;
+					current = candidate;
+					least = count;
+				}
+			}
+			if (current != null && current.count >= estimate) {
+				return;
+			}
+			if (candidates.compareAndSet(slot, current, new HotKey(key, estimate))) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Increment counters of the key in all rows of the sketch.
+	 *
+	 * @return the estimated count of the key, which is never less than the real one
+	 */
+	private long increment(int hash) {
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			int h = (hash ^ (hash >>> 16)) * SEEDS[row];
+			h ^= h >>> 16;
+			long count = sketch.incrementAndGet(row * (widthMask + 1) + (h & widthMask));
+			estimate = Math.min(estimate, count);
+		}
+		return estimate;
+	}
+
+	/**
+	 * The key and the estimated count of its contended acquisitions.
+	 */
+	public static final class HotKey {
+
+		private final Object key;
+		private final long count;
+
+		HotKey(Object key, long count) {
+			this.key = key;
+			this.count = count;
+		}
+
+		public Object getKey() {
+			return key;
+		}
+
+		/**
+		 * @return the estimated count, it may be a bit more than the real one
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + count;
+		}
+	}
+}
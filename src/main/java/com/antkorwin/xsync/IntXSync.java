@@ -0,0 +1,79 @@
+package com.antkorwin.xsync;
+
+import java.util.function.Supplier;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * XSync for primitive int keys.
+ * <p>
+ * Single-key methods take the primitive value and obtain the mutex
+ * from the {@link IntXMutexFactory}, so the execution on an existing
+ * mutex doesn't box the key and doesn't allocate any entry of the map.
+ * All methods of the {@link XSync} are also available for boxed keys,
+ * and they use the same mutexes.
+ *
+ * @author Korovin Anatoliy
+ */
+public class IntXSync extends XSync<Integer> {
+
+	private final IntXMutexFactory mutexFactory;
+
+	/**
+	 * Make the new IntXSync instance with an individual mutex factory
+	 */
+	public IntXSync() {
+		this(new IntXMutexFactory());
+	}
+
+	/**
+	 * Make the new IntXSync with selected mutex factory,
+	 * it's useful when you need to create a multiple XSync instances
+	 * based on the same mutex factory.
+	 *
+	 * @param mutexFactory the mutex factory instance to obtain all mutexes from key values
+	 */
+	public IntXSync(IntXMutexFactory mutexFactory) {
+		super(mutexFactory);
+		this.mutexFactory = mutexFactory;
+	}
+
+	/**
+	 * Make the new IntXSync with selected mutex factory,
+	 * which reports the waiting and the holding of locks to the metrics listener.
+	 *
+	 * @param mutexFactory the mutex factory instance to obtain all mutexes from key values
+	 * @param metrics      the listener of locking, or null to not measure anything
+	 */
+	public IntXSync(IntXMutexFactory mutexFactory, XSyncMetrics metrics) {
+		super(mutexFactory, metrics);
+		this.mutexFactory = mutexFactory;
+	}
+
+	/**
+	 * Executes a runnable in a synchronization block on a mutex,
+	 * which created from the mutexKey value.
+	 *
+	 * @param mutexKey key for the synchronization locks
+	 * @param runnable function that we need to run
+	 */
+	public void execute(int mutexKey, Runnable runnable) {
+		XMutex<Integer> mutex = mutexFactory.getMutex(mutexKey);
+		// the key of the mutex is boxed already
+		executeOnMutex(mutex, mutex.getKey(), runnable);
+	}
+
+	/**
+	 * Evaluate a supplier in a synchronization block on a mutex,
+	 * which created from the mutexKey value.
+	 *
+	 * @param mutexKey  key for the synchronization locks
+	 * @param supplier  function that we need to run in sync. block
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result which return by a supplier
+	 */
+	public <ResultT> ResultT evaluate(int mutexKey, Supplier<ResultT> supplier) {
+		XMutex<Integer> mutex = mutexFactory.getMutex(mutexKey);
+		return evaluateOnMutex(mutex, mutex.getKey(), supplier);
+	}
+}
@@ -0,0 +1,64 @@
+package com.antkorwin.xsync;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * The timing of one synchronized call, which reports the waiting for keys
+ * and the holding of them to the metrics listener and to JFR events.
+ * XSync creates it only when there is a listener or an enabled event.
+ *
+ * @author Korovin Anatoliy
+ */
+final class LockMeasurement {
+
+	private final XSyncMetrics metrics;
+	private final String tag;
+	private final long waitStartedAt;
+	private final Object waitEvent;
+
+	private Object key;
+	private long acquiredAt;
+	private Object holdEvent;
+
+	/**
+	 * Start the timing of a waiting, right before the locking.
+	 *
+	 * @param metrics the listener of locking, or null
+	 * @param tag     the call-site tag, or null
+	 */
+	LockMeasurement(XSyncMetrics metrics, String tag) {
+		this.metrics = metrics;
+		this.tag = tag;
+		this.waitEvent = XSyncEvents.beginWait();
+		this.waitStartedAt = System.nanoTime();
+	}
+
+	/**
+	 * Report the end of waiting, right after the locking.
+	 *
+	 * @param key       the key or the collection of keys
+	 * @param contended true if any lock was held by another thread
+	 */
+	void acquired(Object key, boolean contended) {
+		this.key = key;
+		this.acquiredAt = System.nanoTime();
+		if (metrics != null) {
+			metrics.acquired(key, tag, contended ? acquiredAt - waitStartedAt : 0, contended);
+		}
+		// the hold event may be enabled without the wait event
+		holdEvent = XSyncEvents.endWait(waitEvent, key, tag, contended);
+	}
+
+	/**
+	 * Report the end of holding, right after the unlocking.
+	 */
+	void released() {
+		long holdNanos = System.nanoTime() - acquiredAt;
+		if (holdEvent != null) {
+			XSyncEvents.endHold(holdEvent, key, tag);
+		}
+		if (metrics != null) {
+			metrics.released(key, tag, holdNanos);
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package com.antkorwin.xsync;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * The factory of mutexes for primitive long keys.
+ * <p>
+ * Keys are stored in the table as primitive values, so getting
+ * an existing mutex by {@link #getMutex(long)} doesn't allocate any object.
+ * Each entry of the table is a weak reference to the mutex,
+ * the entry is removed after the mutex was collected by the GC,
+ * that's why the same value of a key gives the same mutex
+ * while this mutex is in use, like in the {@link XMutexFactoryImpl}.
+ *
+ * @author Korovin Anatoliy
+ */
+public class LongXMutexFactory implements XMutexFactory<Long> {
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+	private static final int MAX_SEGMENTS = 1 << 16;
+
+	private final Segment[] segments;
+	private final int segmentShift;
+	private final int segmentMask;
+
+	/**
+	 * Create a mutex factory with default settings
+	 */
+	public LongXMutexFactory() {
+		this(DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * Creating a mutex factory with custom settings
+	 *
+	 * @param concurrencyLevel the expected number of threads
+	 *                         that will concurrently create mutexes
+	 */
+	public LongXMutexFactory(int concurrencyLevel) {
+		this(0, DEFAULT_LOAD_FACTOR, concurrencyLevel, false);
+	}
+
+	/**
+	 * Creating a mutex factory with custom settings
+	 *
+	 * @param initialCapacity  the count of buckets for the expected count of live keys,
+	 *                         it's divided between segments
+	 * @param loadFactor       the average count of keys per bucket which leads to resizing
+	 * @param concurrencyLevel the expected number of threads
+	 *                         that will concurrently create mutexes
+	 * @param fair             true to make mutexes with fair locks
+	 */
+	public LongXMutexFactory(int initialCapacity, float loadFactor, int concurrencyLevel, boolean fair) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Initial capacity must not be negative");
+		}
+		if (!(loadFactor > 0)) {
+			throw new IllegalArgumentException("Load factor must be positive");
+		}
+		if (concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("Concurrency level must be positive");
+		}
+		int shift = 0;
+		int size = 1;
+		while (size < Math.min(concurrencyLevel, MAX_SEGMENTS)) {
+			shift++;
+			size <<= 1;
+		}
+		this.segmentShift = 32 - shift;
+		this.segmentMask = size - 1;
+		this.segments = new Segment[size];
+		int segmentCapacity = Segment.MIN_CAPACITY;
+		while ((long) segmentCapacity * size < initialCapacity) {
+			segmentCapacity <<= 1;
+		}
+		for (int i = 0; i < size; i++) {
+			segments[i] = new Segment(segmentCapacity, loadFactor, fair);
+		}
+	}
+
+	/**
+	 * Creates and returns a mutex by the primitive key.
+	 * If the mutex for this key already exists,
+	 * then returns the same reference of the mutex without any allocation.
+	 *
+	 * @param key value which used as a key for synchronization
+	 * @return mutex instance created for this key
+	 */
+	public XMutex<Long> getMutex(long key) {
+		int hash = hash(key);
+		return segmentFor(hash).getMutex(key, hash);
+	}
+
+	@Override
+	public XMutex<Long> getMutex(Long key) {
+		return getMutex(key.longValue());
+	}
+
+	/**
+	 * @return count of mutexes in this factory.
+	 */
+	@Override
+	public long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			size += segment.count;
+		}
+		return size;
+	}
+
+	/**
+	 * Remove any entries that have been garbage collected and are no longer referenced.
+	 * Under normal circumstances garbage collected entries are automatically purged
+	 * when new items are created by a factory. This method can be used to force a purge.
+	 */
+	public void purgeUnreferenced() {
+		for (Segment segment : segments) {
+			segment.purge();
+		}
+	}
+
+	private Segment segmentFor(int hash) {
+		return segments[(hash >>> segmentShift) & segmentMask];
+	}
+
+	private static int hash(long key) {
+		// the finalization step of the MurmurHash3,
+		// it spreads bits of sequential ids to segments and buckets
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	/**
+	 * Weak reference to the mutex which keeps the primitive key
+	 * and works as an entry of the bucket list.
+	 */
+	private static final class Entry extends WeakReference<XMutex<Long>> {
+
+		private final long key;
+		private final int hash;
+		private volatile Entry next;
+
+		Entry(XMutex<Long> mutex, long key, int hash, Entry next, ReferenceQueue<XMutex<Long>> queue) {
+			super(mutex, queue);
+			this.key = key;
+			this.hash = hash;
+			this.next = next;
+		}
+	}
+
+	/**
+	 * Part of the table with an individual lock for writing.
+	 * Reading doesn't take the lock, it may miss an entry
+	 * which is being added concurrently, in this case
+	 * the lookup is repeated under the lock.
+	 */
+	private static final class Segment extends ReentrantLock {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final int MIN_CAPACITY = 16;
+
+		private final ReferenceQueue<XMutex<Long>> queue = new ReferenceQueue<>();
+		private final float loadFactor;
+		private final boolean fairMutexes;
+		private volatile Entry[] table;
+		private volatile int count;
+		private int threshold;
+
+		Segment(int capacity, float loadFactor, boolean fairMutexes) {
+			this.loadFactor = loadFactor;
+			this.fairMutexes = fairMutexes;
+			this.table = new Entry[capacity];
+			this.threshold = (int) (capacity * loadFactor);
+		}
+
+		XMutex<Long> getMutex(long key, int hash) {
+			XMutex<Long> mutex = find(key, hash);
+			if (mutex != null) {
+				return mutex;
+			}
+			lock();
+			try {
+				removeStale();
+				mutex = find(key, hash);
+				if (mutex == null) {
+					mutex = new XMutex<>(key, fairMutexes);
+					insert(mutex, key, hash);
+				}
+				return mutex;
+			} finally {
+				unlock();
+			}
+		}
+
+		void purge() {
+			lock();
+			try {
+				removeStale();
+			} finally {
+				unlock();
+			}
+		}
+
+		private XMutex<Long> find(long key, int hash) {
+			Entry[] tab = table;
+			for (Entry e = tab[hash & (tab.length - 1)]; e != null; e = e.next) {
+				if (e.key == key) {
+					XMutex<Long> mutex = e.get();
+					if (mutex != null) {
+						return mutex;
+					}
+				}
+			}
+			return null;
+		}
+
+		private void insert(XMutex<Long> mutex, long key, int hash) {
+			if (count >= threshold) {
+				rehash();
+			}
+			Entry[] tab = table;
+			int index = hash & (tab.length - 1);
+			tab[index] = new Entry(mutex, key, hash, tab[index], queue);
+			count++;
+		}
+
+		private void rehash() {
+			Entry[] oldTable = table;
+			Entry[] newTable = new Entry[oldTable.length << 1];
+			int sizeMask = newTable.length - 1;
+			int reduced = 0;
+			for (Entry head : oldTable) {
+				Entry e = head;
+				while (e != null) {
+					Entry next = e.next;
+					if (e.get() == null) {
+						// the entry is already in the queue,
+						// it will not be found there anymore
+						reduced++;
+					} else {
+						int index = e.hash & sizeMask;
+						e.next = newTable[index];
+						newTable[index] = e;
+					}
+					e = next;
+				}
+			}
+			threshold = (int) (newTable.length * loadFactor);
+			table = newTable;
+			count -= reduced;
+		}
+
+		private void removeStale() {
+			Entry stale;
+			while ((stale = (Entry) queue.poll()) != null) {
+				remove(stale);
+			}
+		}
+
+		private void remove(Entry entry) {
+			Entry[] tab = table;
+			int index = entry.hash & (tab.length - 1);
+			Entry prev = null;
+			for (Entry e = tab[index]; e != null; prev = e, e = e.next) {
+				if (e == entry) {
+					if (prev == null) {
+						tab[index] = e.next;
+					} else {
+						prev.next = e.next;
+					}
+					count--;
+					return;
+				}
+			}
+		}
+	}
+}
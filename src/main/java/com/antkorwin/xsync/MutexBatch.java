@@ -0,0 +1,250 @@
+package com.antkorwin.xsync;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * The set of mutexes for a multi-key synchronization, which locks
+ * and unlocks them in a loop over the sorted array of mutexes.
+ * <p>
+ * Mutexes are sorted by their unique ids at once, duplicates of the same mutex
+ * are taken only one time. A batch for a few keys is cached by the thread,
+ * so the locking of a small set of keys doesn't allocate arrays.
+ *
+ * @author Korovin Anatoliy
+ */
+final class MutexBatch<KeyT> {
+
+	/**
+	 * the size of a cached batch, mutexes of a set up to this size are obtained key by key,
+	 * for live mutexes it's as fast as the bulk lookup and doesn't allocate,
+	 * the bulk lookup is ahead from 32 keys (see MutexLookupBenchmark)
+	 */
+	static final int SMALL_SIZE = 16;
+
+	private static final ThreadLocal<MutexBatch<?>> cachedBatch = new ThreadLocal<>();
+
+	private XMutex<KeyT>[] mutexes;
+	private boolean[] exclusive;
+	private long[] ids;
+	private long[] sortedIds;
+	/**
+	 * the locking order: a rank of the id in high bits and an index of the mutex in low bits
+	 */
+	private long[] order;
+	private Lock[] locks;
+
+	private int size;
+	private int distinct;
+	private int locked;
+	private boolean contended;
+	private boolean inUse;
+
+	private MutexBatch(int capacity) {
+		allocate(capacity);
+	}
+
+	/**
+	 * Open an empty batch, the batch must be closed after usage.
+	 *
+	 * @param capacity expected count of mutexes
+	 * @return the batch of this thread if it's free and big enough, otherwise a new batch
+	 */
+	@SuppressWarnings("unchecked")
+	static <KeyT> MutexBatch<KeyT> open(int capacity) {
+		if (capacity <= SMALL_SIZE) {
+			MutexBatch<?> batch = cachedBatch.get();
+			if (batch == null) {
+				batch = new MutexBatch<>(SMALL_SIZE);
+				cachedBatch.set(batch);
+			}
+			if (!batch.inUse) {
+				batch.inUse = true;
+				return (MutexBatch<KeyT>) batch;
+			}
+		}
+		MutexBatch<KeyT> batch = new MutexBatch<>(Math.max(capacity, SMALL_SIZE));
+		batch.inUse = true;
+		return batch;
+	}
+
+	/**
+	 * Add a mutex to the batch.
+	 *
+	 * @param mutex     the mutex obtained from a factory
+	 * @param exclusive false if it's enough to take the read lock of this mutex
+	 */
+	void add(XMutex<KeyT> mutex, boolean exclusive) {
+		if (size == mutexes.length) {
+			grow();
+		}
+		this.mutexes[size] = mutex;
+		this.exclusive[size] = exclusive;
+		this.ids[size] = mutex.getId();
+		size++;
+	}
+
+	/**
+	 * Sort mutexes in the locking order and skip duplicates,
+	 * the exclusive mode of a duplicate wins over the shared one.
+	 */
+	void sort() {
+		// ids take all 64 bits, so the index is packed with the rank of an id
+		System.arraycopy(ids, 0, sortedIds, 0, size);
+		Arrays.sort(sortedIds, 0, size);
+		for (int i = 0; i < size; i++) {
+			long rank = Arrays.binarySearch(sortedIds, 0, size, ids[i]);
+			order[i] = (rank << 32) | i;
+		}
+		Arrays.sort(order, 0, size);
+
+		distinct = 0;
+		for (int k = 0; k < size; k++) {
+			int index = (int) order[k];
+			// the same id is the same mutex
+			if (distinct > 0 && ids[(int) order[distinct - 1]] == ids[index]) {
+				exclusive[(int) order[distinct - 1]] |= exclusive[index];
+			} else {
+				order[distinct++] = order[k];
+			}
+		}
+	}
+
+	/**
+	 * @return count of different mutexes in the batch
+	 */
+	int size() {
+		return distinct;
+	}
+
+	/**
+	 * @return the mutex in the locking order position
+	 */
+	XMutex<KeyT> get(int position) {
+		return mutexes[(int) order[position]];
+	}
+
+	/**
+	 * Lock all mutexes of the batch in the sorted order.
+	 */
+	void lockAll() {
+		for (int k = 0; k < distinct; k++) {
+			locks[k] = get(k);
+		}
+		lockInOrder(false);
+	}
+
+	/**
+	 * @return true if any lock of the batch was held by another thread
+	 */
+	boolean isContended() {
+		return contended;
+	}
+
+	/**
+	 * Take read or write locks of all mutexes of the batch in the sorted order.
+	 *
+	 * @param fair the fairness policy of read/write locks
+	 */
+	void lockAllReadWrite(boolean fair) {
+		for (int k = 0; k < distinct; k++) {
+			int index = (int) order[k];
+			ReadWriteLock lock = mutexes[index].getReadWriteLock(fair);
+			locks[k] = exclusive[index] ? lock.writeLock() : lock.readLock();
+		}
+		lockInOrder(fair);
+	}
+
+	/**
+	 * Release all taken locks in the reverse order.
+	 */
+	void unlockAll() {
+		while (locked > 0) {
+			locks[--locked].unlock();
+		}
+	}
+
+	/**
+	 * Release locks which are still taken, return all obtained mutexes (with duplicates)
+	 * to the factory and make the batch free to use by the next call of this thread.
+	 *
+	 * @param factory the factory of mutexes in this batch
+	 */
+	void close(XMutexFactory<KeyT> factory) {
+		try {
+			unlockAll();
+		} finally {
+			try {
+				for (int i = 0; i < size; i++) {
+					factory.release(mutexes[i]);
+				}
+			} finally {
+				// don't keep mutexes reachable from the cached batch
+				Arrays.fill(mutexes, 0, size, null);
+				Arrays.fill(locks, 0, distinct, null);
+				size = 0;
+				distinct = 0;
+				inUse = false;
+			}
+		}
+	}
+
+	private void lockInOrder(boolean fair) {
+		contended = false;
+		while (locked < distinct) {
+			if (!tryLock(locks[locked], fair)) {
+				contended = true;
+				XSyncDeadlockDetector.lock(locks[locked]);
+			}
+			locked++;
+		}
+	}
+
+	/**
+	 * Take the lock only if it's free, like {@link XMutex#tryLockInTurn()}
+	 * a fair lock isn't taken ahead of waiting threads.
+	 *
+	 * @param lock the lock of a mutex or a read/write lock of a mutex
+	 * @param fair the fairness policy of read/write locks
+	 * @return true if the lock was acquired
+	 */
+	private static boolean tryLock(Lock lock, boolean fair) {
+		if (lock instanceof XMutex) {
+			return ((XMutex<?>) lock).tryLockInTurn();
+		}
+		if (!fair) {
+			return lock.tryLock();
+		}
+		try {
+			// unlike tryLock() the timed form respects the queue of a fair lock
+			return lock.tryLock(0, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void allocate(int capacity) {
+		mutexes = new XMutex[capacity];
+		exclusive = new boolean[capacity];
+		ids = new long[capacity];
+		sortedIds = new long[capacity];
+		order = new long[capacity];
+		locks = new Lock[capacity];
+	}
+
+	private void grow() {
+		int capacity = mutexes.length * 2;
+		mutexes = Arrays.copyOf(mutexes, capacity);
+		exclusive = Arrays.copyOf(exclusive, capacity);
+		ids = Arrays.copyOf(ids, capacity);
+		sortedIds = new long[capacity];
+		order = Arrays.copyOf(order, capacity);
+		locks = Arrays.copyOf(locks, capacity);
+	}
+}
@@ -0,0 +1,147 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * The state of a mutex for optional features of XSync: read/write and stamped locks,
+ * async tasks, shared evaluations, batched items and semaphores.
+ * <p>
+ * The mutex keeps it in a single field and creates it on the first use of any feature,
+ * so a mutex of the plain {@code execute(key, ...)} stays small. Each part of the state
+ * is also created on its first use.
+ *
+ * @author Korovin Anatoliy
+ */
+final class MutexFeatures {
+
+	private static final AtomicReferenceFieldUpdater<MutexFeatures, ReentrantReadWriteLock> READ_WRITE_LOCK =
+			AtomicReferenceFieldUpdater.newUpdater(MutexFeatures.class, ReentrantReadWriteLock.class, "readWriteLock");
+
+	private static final AtomicReferenceFieldUpdater<MutexFeatures, StampedLock> STAMPED_LOCK =
+			AtomicReferenceFieldUpdater.newUpdater(MutexFeatures.class, StampedLock.class, "stampedLock");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MutexFeatures, CompletableFuture> ASYNC_TAIL =
+			AtomicReferenceFieldUpdater.newUpdater(MutexFeatures.class, CompletableFuture.class, "asyncTail");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MutexFeatures, ConcurrentHashMap> SHARED_EVALUATIONS =
+			AtomicReferenceFieldUpdater.newUpdater(MutexFeatures.class, ConcurrentHashMap.class, "sharedEvaluations");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MutexFeatures, ConcurrentLinkedQueue> BATCH_QUEUE =
+			AtomicReferenceFieldUpdater.newUpdater(MutexFeatures.class, ConcurrentLinkedQueue.class, "batchQueue");
+
+	private static final AtomicReferenceFieldUpdater<MutexFeatures, XSemaphore.KeySemaphore> SEMAPHORE =
+			AtomicReferenceFieldUpdater.newUpdater(MutexFeatures.class, XSemaphore.KeySemaphore.class, "semaphore");
+
+	private volatile ReentrantReadWriteLock readWriteLock;
+	private volatile StampedLock stampedLock;
+	private volatile CompletableFuture<Void> asyncTail;
+	private volatile ConcurrentHashMap<Object, SharedEvaluation> sharedEvaluations;
+	private volatile ConcurrentLinkedQueue<BatchedItem<?>> batchQueue;
+	private volatile XSemaphore.KeySemaphore semaphore;
+
+	/**
+	 * @see XMutex#getReadWriteLock(boolean)
+	 */
+	ReentrantReadWriteLock getReadWriteLock(boolean fair) {
+		ReentrantReadWriteLock lock = readWriteLock;
+		if (lock == null) {
+			lock = new ReentrantReadWriteLock(fair);
+			if (!READ_WRITE_LOCK.compareAndSet(this, null, lock)) {
+				lock = readWriteLock;
+			}
+		}
+		return lock;
+	}
+
+	/**
+	 * @see XMutex#getStampedLock()
+	 */
+	StampedLock getStampedLock() {
+		StampedLock lock = stampedLock;
+		if (lock == null) {
+			lock = new StampedLock();
+			if (!STAMPED_LOCK.compareAndSet(this, null, lock)) {
+				lock = stampedLock;
+			}
+		}
+		return lock;
+	}
+
+	/**
+	 * @see XMutex#getSemaphore(Object, ToIntFunction)
+	 */
+	<K> XSemaphore.KeySemaphore getSemaphore(K key, ToIntFunction<? super K> permitsOfKey) {
+		XSemaphore.KeySemaphore current = semaphore;
+		if (current == null) {
+			current = new XSemaphore.KeySemaphore(permitsOfKey.applyAsInt(key));
+			if (!SEMAPHORE.compareAndSet(this, null, current)) {
+				current = semaphore;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * @see XMutex#swapAsyncTail(CompletableFuture)
+	 */
+	@SuppressWarnings("unchecked")
+	CompletableFuture<Void> swapAsyncTail(CompletableFuture<Void> tail) {
+		return ASYNC_TAIL.getAndSet(this, tail);
+	}
+
+	/**
+	 * @see XMutex#clearAsyncTail(CompletableFuture)
+	 */
+	boolean clearAsyncTail(CompletableFuture<Void> tail) {
+		return ASYNC_TAIL.compareAndSet(this, tail, null);
+	}
+
+	/**
+	 * @see XMutex#startSharedEvaluation(Object, SharedEvaluation)
+	 */
+	SharedEvaluation startSharedEvaluation(Object key, SharedEvaluation evaluation) {
+		ConcurrentHashMap<Object, SharedEvaluation> evaluations = sharedEvaluations;
+		if (evaluations == null) {
+			evaluations = new ConcurrentHashMap<>(2);
+			if (!SHARED_EVALUATIONS.compareAndSet(this, null, evaluations)) {
+				evaluations = sharedEvaluations;
+			}
+		}
+		return evaluations.putIfAbsent(key, evaluation);
+	}
+
+	/**
+	 * @see XMutex#finishSharedEvaluation(Object, SharedEvaluation)
+	 */
+	void finishSharedEvaluation(Object key, SharedEvaluation evaluation) {
+		ConcurrentHashMap<Object, SharedEvaluation> evaluations = sharedEvaluations;
+		if (evaluations != null) {
+			evaluations.remove(key, evaluation);
+		}
+	}
+
+	/**
+	 * @see XMutex#getBatchQueue()
+	 */
+	ConcurrentLinkedQueue<BatchedItem<?>> getBatchQueue() {
+		ConcurrentLinkedQueue<BatchedItem<?>> queue = batchQueue;
+		if (queue == null) {
+			queue = new ConcurrentLinkedQueue<>();
+			if (!BATCH_QUEUE.compareAndSet(this, null, queue)) {
+				queue = batchQueue;
+			}
+		}
+		return queue;
+	}
+}
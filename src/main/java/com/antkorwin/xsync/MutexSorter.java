@@ -1,16 +1,13 @@
 package com.antkorwin.xsync;
 
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Collections;
 
 /**
  * Created on 24/01/2020
  * <p>
  * Help with the sorting of mutexes in the same order,
- * based on the System::identityHashCode.
+ * based on unique ids of mutexes.
  *
  * @author Korovin Anatoliy
  */
@@ -23,33 +20,64 @@ class MutexSorter<KeyT> {
 	}
 
 	/**
-	 * Check existing of collisions in the list of mutexes.
+	 * Obtain mutexes from {@link XMutexFactory} by the collection of keys at once
+	 * and sort them in the order of locking, which depends just on
+	 * ids of mutexes, so it is the same for all threads.
 	 *
-	 * @param mutexes list of mutexes to run checking
-	 * @return true if there are at least two mutexes with the same identityHashCode
-	 * value in the list, and false if all mutexes have different hash values.
+	 * @param keys collection of keys to lock
+	 * @return the sorted batch of mutexes, it must be closed after usage
 	 */
-	boolean existCollision(List<XMutex<KeyT>> mutexes) {
+	MutexBatch<KeyT> getOrderedBatch(Collection<KeyT> keys) {
+		return getOrderedBatch(keys, Collections.emptyList());
+	}
 
-		Set<Integer> hashCodes = mutexes.stream()
-		                                .map(System::identityHashCode)
-		                                .collect(Collectors.toSet());
+	/**
+	 * Obtain mutexes from {@link XMutexFactory} by collections of keys
+	 * and sort them in the order of locking.
+	 * <p>
+	 * Mutexes of a small set of keys are obtained one by one, so the locking
+	 * of it doesn't allocate, bigger sets use {@link XMutexFactory#getMutexes}.
+	 *
+	 * @param sharedKeys    keys to lock in the shared mode
+	 * @param exclusiveKeys keys to lock in the exclusive mode
+	 * @return the sorted batch of mutexes, it must be closed after usage
+	 */
+	MutexBatch<KeyT> getOrderedBatch(Collection<KeyT> sharedKeys, Collection<KeyT> exclusiveKeys) {
+		int size = sharedKeys.size() + exclusiveKeys.size();
+		MutexBatch<KeyT> batch = MutexBatch.open(size);
+		try {
+			boolean bulk = size > MutexBatch.SMALL_SIZE;
+			addAll(batch, sharedKeys, false, bulk);
+			addAll(batch, exclusiveKeys, true, bulk);
+			batch.sort();
+			return batch;
+		} catch (RuntimeException | Error e) {
+			batch.close(factory);
+			throw e;
+		}
+	}
 
-		return hashCodes.size() < mutexes.size();
+	private void addAll(MutexBatch<KeyT> batch, Collection<KeyT> keys, boolean exclusive, boolean bulk) {
+		if (keys.isEmpty()) {
+			return;
+		}
+		if (!bulk) {
+			for (KeyT key : keys) {
+				batch.add(factory.getMutex(key), exclusive);
+			}
+			return;
+		}
+		for (XMutex<KeyT> mutex : factory.getMutexes(keys)) {
+			batch.add(mutex, exclusive);
+		}
 	}
 
 	/**
-	 * Obtain a list of mutexes from {@link XMutexFactory} by the collection
-	 * of keys and sort this list by identityHashCode values of a mutex.
+	 * Compare two mutexes by the order of locking.
 	 *
-	 * @param keys collection of keys which necessary to sort in the same order
-	 *             depends just on the external values of identityHashCode.
-	 * @return sorted list of mutexes
+	 * @return zero only if it's the same mutex
 	 */
-	List<XMutex<KeyT>> getOrderedMutexList(Collection<KeyT> keys) {
-		return keys.stream()
-		           .map(factory::getMutex)
-		           .sorted(Comparator.comparingInt(System::identityHashCode))
-		           .collect(Collectors.toList());
+	int compare(XMutex<KeyT> first, XMutex<KeyT> second) {
+		return Long.compare(first.getId(), second.getId());
 	}
 }
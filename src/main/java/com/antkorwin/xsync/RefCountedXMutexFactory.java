@@ -0,0 +1,96 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * The factory of mutexes which counts active users of each mutex.
+ * <p>
+ * Every {@link #getMutex(Object)} increments the counter of the key
+ * and every {@link #release(XMutex)} decrements it. When the last user
+ * releases the mutex, it is removed from the factory immediately,
+ * so the size of the factory is always equal to the number of keys in use
+ * and the GC doesn't process any references for the mutexes.
+ * <p>
+ * Note that each obtained mutex must be released, XSync does it for you,
+ * but if you take mutexes from this factory directly then you need
+ * to call {@link #release(XMutex)} by yourself, otherwise mutexes stay in the factory.
+ *
+ * @author Korovin Anatoliy
+ */
+public class RefCountedXMutexFactory<KeyT> implements XMutexFactory<KeyT> {
+
+	private final ConcurrentHashMap<KeyT, CountedMutex<KeyT>> map;
+
+	/**
+	 * Create a mutex factory with default settings
+	 */
+	public RefCountedXMutexFactory() {
+		this.map = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Creating a mutex factory with custom settings
+	 *
+	 * @param initialCapacity the expected number of keys in use at the same time
+	 */
+	public RefCountedXMutexFactory(int initialCapacity) {
+		this.map = new ConcurrentHashMap<>(initialCapacity);
+	}
+
+	/**
+	 * Creates and returns a mutex by the key and counts a new user of this mutex.
+	 * If the mutex for this key already in use,
+	 * then returns the same reference of the mutex.
+	 */
+	@Override
+	public XMutex<KeyT> getMutex(KeyT key) {
+		return map.compute(key, RefCountedXMutexFactory::acquire);
+	}
+
+	/**
+	 * Decrements the count of users of the mutex,
+	 * and removes the mutex from the factory when nobody uses it.
+	 */
+	@Override
+	public void release(XMutex<KeyT> mutex) {
+		map.computeIfPresent(mutex.getKey(), RefCountedXMutexFactory::release);
+	}
+
+	/**
+	 * @return count of mutexes in use.
+	 */
+	@Override
+	public long size() {
+		return map.size();
+	}
+
+	private static <KeyT> CountedMutex<KeyT> acquire(KeyT key, CountedMutex<KeyT> mutex) {
+		if (mutex == null) {
+			return new CountedMutex<>(key);
+		}
+		mutex.holders++;
+		return mutex;
+	}
+
+	private static <KeyT> CountedMutex<KeyT> release(KeyT key, CountedMutex<KeyT> mutex) {
+		mutex.holders--;
+		return mutex.holders == 0 ? null : mutex;
+	}
+
+	/**
+	 * Mutex with the counter of users,
+	 * the counter is changed only inside of the map's compute methods.
+	 */
+	private static final class CountedMutex<KeyT> extends XMutex<KeyT> {
+
+		private static final long serialVersionUID = 1L;
+
+		private int holders = 1;
+
+		CountedMutex(KeyT key) {
+			super(key);
+		}
+	}
+}
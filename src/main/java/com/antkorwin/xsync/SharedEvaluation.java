@@ -0,0 +1,39 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * The evaluation of a key which is in flight, callers of
+ * {@link XSync#evaluateShared} wait for it instead of evaluating the same again.
+ * <p>
+ * It's stored in the mutex by the key while the evaluation runs.
+ *
+ * @author Korovin Anatoliy
+ */
+final class SharedEvaluation extends CompletableFuture<Object> {
+
+	/**
+	 * Wait for the result of the evaluation.
+	 *
+	 * @return the result of the evaluation
+	 * @throws RuntimeException the same exception which was thrown by the evaluation
+	 */
+	@SuppressWarnings("unchecked")
+	<ResultT> ResultT await() {
+		try {
+			return (ResultT) join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+}
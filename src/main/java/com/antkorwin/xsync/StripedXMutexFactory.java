@@ -0,0 +1,88 @@
+package com.antkorwin.xsync;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * The factory of mutexes, based on a preallocated array of stripes.
+ * <p>
+ * A key is mapped to a stripe by its hash code, so equal keys always
+ * get the same mutex, but different keys may share a stripe as well.
+ * This factory doesn't allocate anything to get a mutex and doesn't depend
+ * on the GC to clean up unused mutexes, the memory is bounded by the number of stripes.
+ * Use it for a huge number of short-lived keys, when the occasional
+ * synchronization of unrelated keys is acceptable.
+ * <p>
+ * Stripe mutexes are not bound to a key, so {@link XMutex#getKey()} returns null.
+ *
+ * @author Korovin Anatoliy
+ */
+public class StripedXMutexFactory<KeyT> implements XMutexFactory<KeyT> {
+
+	private static final int MAX_STRIPES = 1 << 30;
+
+	private final XMutex<KeyT>[] stripes;
+	private final int mask;
+
+	/**
+	 * Creating a mutex factory with the selected number of stripes
+	 *
+	 * @param stripes the minimal number of stripes,
+	 *                it is rounded up to the power of two
+	 */
+	@SuppressWarnings("unchecked")
+	public StripedXMutexFactory(int stripes) {
+		if (stripes <= 0 || stripes > MAX_STRIPES) {
+			throw new IllegalArgumentException("Number of stripes must be in range [1, 2^30]");
+		}
+		int size = 1;
+		while (size < stripes) {
+			size <<= 1;
+		}
+		this.stripes = new XMutex[size];
+		for (int i = 0; i < size; i++) {
+			this.stripes[i] = new Stripe<>();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Returns a stripe mutex for the key.
+	 * Equal keys always get the same mutex.
+	 */
+	@Override
+	public XMutex<KeyT> getMutex(KeyT key) {
+		int hash = key.hashCode();
+		return stripes[(hash ^ (hash >>> 16)) & mask];
+	}
+
+	/**
+	 * @return count of stripes in this factory.
+	 */
+	@Override
+	public long size() {
+		return stripes.length;
+	}
+
+	/**
+	 * Stripe is shared by different keys,
+	 * so it is equal only to itself.
+	 */
+	private static final class Stripe<KeyT> extends XMutex<KeyT> {
+
+		private static final long serialVersionUID = 1L;
+
+		Stripe() {
+			super(null);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return this == o;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this);
+		}
+	}
+}
@@ -1,20 +1,65 @@
 package com.antkorwin.xsync;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ToIntFunction;
 
 
 /**
  * Created on 14.06.2018.
  * <p>
- * Internal synchronization primitive which use by XSync
+ * Internal synchronization primitive which use by XSync.
+ * <p>
+ * The mutex is a {@link ReentrantLock} bound to the value of a key,
+ * XSync locks it instead of the object monitor, that's why
+ * the waiting for a mutex can be limited by a timeout.
  *
  * @author Korovin Anatoliy
  */
-public class XMutex<KeyT> {
+public class XMutex<KeyT> extends ReentrantLock {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * ids start from 1, zero means that the id isn't assigned yet
+	 */
+	private static final AtomicLong NEXT_ID = new AtomicLong(1);
 
-	private final KeyT key;
+	@SuppressWarnings("rawtypes")
+	private static final AtomicLongFieldUpdater<XMutex> ID =
+			AtomicLongFieldUpdater.newUpdater(XMutex.class, "id");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<XMutex, MutexFeatures> FEATURES =
+			AtomicReferenceFieldUpdater.newUpdater(XMutex.class, MutexFeatures.class, "features");
+
+	private transient volatile long id;
+	private final transient KeyT key;
+	/**
+	 * the state of optional features, which is created on the first use of any of them
+	 */
+	private transient volatile MutexFeatures features;
 
 	public XMutex(KeyT key) {
+		this(key, false);
+	}
+
+	/**
+	 * Make the mutex with the fairness policy of the lock
+	 *
+	 * @param key  object which value will be use as a key
+	 * @param fair true to give the lock to the longest waiting thread
+	 */
+	public XMutex(KeyT key, boolean fair) {
+		super(fair);
 		this.key = key;
 	}
 
@@ -33,6 +78,151 @@ public class XMutex<KeyT> {
 		return key;
 	}
 
+	/**
+	 * Returns the unique id of this mutex.
+	 * <p>
+	 * XSync locks mutexes of a multi-key block in the ascending order of ids,
+	 * it's a strict total order, so there isn't a pair of different mutexes
+	 * which can be locked by two threads in the opposite orders.
+	 * <p>
+	 * The id is assigned on the first call, so a mutex which is used
+	 * only by single-key blocks never touches the shared counter of ids.
+	 *
+	 * @return the id of the mutex
+	 */
+	public long getId() {
+		long current = id;
+		if (current == 0) {
+			ID.compareAndSet(this, 0, NEXT_ID.getAndIncrement());
+			current = id;
+		}
+		return current;
+	}
+
+	/**
+	 * Acquire the lock only if it's free, unlike {@link #tryLock()}
+	 * a fair mutex isn't taken ahead of waiting threads.
+	 *
+	 * @return true if the lock was acquired
+	 */
+	boolean tryLockInTurn() {
+		if (!isFair()) {
+			return tryLock();
+		}
+		try {
+			return tryLock(0, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * @return the thread which holds this mutex, or null if it's free
+	 */
+	Thread getOwnerThread() {
+		return getOwner();
+	}
+
+	/**
+	 * Returns the read/write lock of this key which used by {@link XReadWriteSync},
+	 * the lock is created on the first call, so the plain XSync doesn't pay for it.
+	 * Like the state of other features, it's kept in {@link MutexFeatures}.
+	 *
+	 * @param fair the fairness policy, it is applied only when the lock is created
+	 * @return the read/write lock of this mutex
+	 */
+	ReentrantReadWriteLock getReadWriteLock(boolean fair) {
+		return features().getReadWriteLock(fair);
+	}
+
+	/**
+	 * Returns the stamped lock of this key which used by {@link XStampedSync},
+	 * the lock is created on the first call like the read/write lock.
+	 *
+	 * @return the stamped lock of this mutex
+	 */
+	StampedLock getStampedLock() {
+		return features().getStampedLock();
+	}
+
+	/**
+	 * Returns the semaphore of this key which used by {@link XSemaphore},
+	 * the semaphore is created on the first call like the read/write lock.
+	 *
+	 * @param key          the key which obtained this mutex
+	 * @param permitsOfKey the count of permits, it is called only when the semaphore is created
+	 * @return the semaphore of this mutex
+	 */
+	<K> XSemaphore.KeySemaphore getSemaphore(K key, ToIntFunction<? super K> permitsOfKey) {
+		return features().getSemaphore(key, permitsOfKey);
+	}
+
+	/**
+	 * Puts the completion of a new async task to the tail of this key,
+	 * the task may start when the previous tail completes.
+	 *
+	 * @param tail the future which completes when the new task is done
+	 * @return the previous tail, or null if there aren't async tasks of this key
+	 */
+	CompletableFuture<Void> swapAsyncTail(CompletableFuture<Void> tail) {
+		return features().swapAsyncTail(tail);
+	}
+
+	/**
+	 * Clears the tail when the last async task of this key is done.
+	 *
+	 * @param tail the future of the finished task
+	 * @return false if a new task was added after the finished one
+	 */
+	boolean clearAsyncTail(CompletableFuture<Void> tail) {
+		return features().clearAsyncTail(tail);
+	}
+
+	/**
+	 * Puts the evaluation of a key in flight, if there isn't another one of this key.
+	 * Evaluations are kept by keys, because a mutex may be shared by different keys
+	 * (like in {@link StripedXMutexFactory}).
+	 *
+	 * @param key        the key of the evaluation
+	 * @param evaluation the new evaluation
+	 * @return the evaluation which is already in flight, or null if the new one was put
+	 */
+	SharedEvaluation startSharedEvaluation(KeyT key, SharedEvaluation evaluation) {
+		return features().startSharedEvaluation(key, evaluation);
+	}
+
+	/**
+	 * Removes the finished evaluation, the next call of the key starts a new one.
+	 *
+	 * @param key        the key of the evaluation
+	 * @param evaluation the evaluation which was put by {@link #startSharedEvaluation}
+	 */
+	void finishSharedEvaluation(KeyT key, SharedEvaluation evaluation) {
+		features().finishSharedEvaluation(key, evaluation);
+	}
+
+	/**
+	 * Returns the queue of items which wait for the next holder of this mutex
+	 * in {@link XSync#executeBatched}, the queue is created on the first call.
+	 *
+	 * @return the queue of batched items
+	 */
+	ConcurrentLinkedQueue<BatchedItem<?>> getBatchQueue() {
+		return features().getBatchQueue();
+	}
+
+	private MutexFeatures features() {
+		MutexFeatures current = features;
+		if (current == null) {
+			current = new MutexFeatures();
+			if (!FEATURES.compareAndSet(this, null, current)) {
+				current = features;
+			}
+		}
+		return current;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -1,5 +1,9 @@
 package com.antkorwin.xsync;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Created on 29.07.2018.
  *
@@ -17,6 +21,42 @@ public interface XMutexFactory<KeyT> {
      */
     XMutex<KeyT> getMutex(KeyT key);
 
+    /**
+     * Creates and returns mutexes of all keys, like {@link #getMutex(Object)}
+     * for each of them, so every returned mutex should be released.
+     * <p>
+     * By default it calls {@link #getMutex(Object)} for each key,
+     * a factory may look up many keys at once in a cheaper way.
+     *
+     * @param keys objects which used as keys for synchronization
+     * @return mutexes in the iteration order of keys, with duplicates for equal keys
+     */
+    default List<XMutex<KeyT>> getMutexes(Collection<KeyT> keys) {
+        List<XMutex<KeyT>> mutexes = new ArrayList<>(keys.size());
+        try {
+            for (KeyT key : keys) {
+                mutexes.add(getMutex(key));
+            }
+            return mutexes;
+        } catch (RuntimeException | Error e) {
+            mutexes.forEach(this::release);
+            throw e;
+        }
+    }
+
+    /**
+     * Notifies the factory that the caller doesn't use the mutex anymore.
+     * XSync calls it once for every obtained mutex, after leaving
+     * the synchronization block, so a factory can forget unused mutexes
+     * without waiting for the GC.
+     * <p>
+     * By default it does nothing.
+     *
+     * @param mutex the mutex which was returned by {@link #getMutex(Object)}
+     */
+    default void release(XMutex<KeyT> mutex) {
+    }
+
     /**
      * @return count of mutexes in this factory.
      */
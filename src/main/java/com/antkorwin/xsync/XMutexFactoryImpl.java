@@ -1,7 +1,10 @@
 package com.antkorwin.xsync;
 
 
-import java.util.concurrent.ConcurrentMap;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Function;
 
 import org.hibernate.validator.internal.util.ConcurrentReferenceHashMap;
 
@@ -21,18 +24,14 @@ public class XMutexFactoryImpl<KeyT> implements XMutexFactory<KeyT> {
 	private static final ConcurrentReferenceHashMap.ReferenceType DEFAULT_REFERENCE_TYPE =
 			ConcurrentReferenceHashMap.ReferenceType.WEAK;
 
-	private final ConcurrentMap<KeyT, XMutex<KeyT>> map;
+	private final ConcurrentReferenceHashMap<KeyT, XMutex<KeyT>> map;
+	private final Function<KeyT, XMutex<KeyT>> mutexOf;
 
 	/**
 	 * Create a mutex factory with default settings
 	 */
 	public XMutexFactoryImpl() {
-		this.map = new ConcurrentReferenceHashMap<>(DEFAULT_INITIAL_CAPACITY,
-		                                            DEFAULT_LOAD_FACTOR,
-		                                            DEFAULT_CONCURRENCY_LEVEL,
-		                                            DEFAULT_REFERENCE_TYPE,
-		                                            DEFAULT_REFERENCE_TYPE,
-		                                            null);
+		this(DEFAULT_CONCURRENCY_LEVEL, DEFAULT_REFERENCE_TYPE);
 	}
 
 	/**
@@ -44,12 +43,39 @@ public class XMutexFactoryImpl<KeyT> implements XMutexFactory<KeyT> {
 	 */
 	public XMutexFactoryImpl(int concurrencyLevel,
 	                         ConcurrentReferenceHashMap.ReferenceType referenceType) {
-		this.map = new ConcurrentReferenceHashMap<>(DEFAULT_INITIAL_CAPACITY,
-		                                            DEFAULT_LOAD_FACTOR,
+		this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, concurrencyLevel,
+		     referenceType, referenceType, false, false);
+	}
+
+	/**
+	 * Creating a mutex factory with all settings, it's used by {@link XSyncBuilder}
+	 *
+	 * @param initialCapacity     the capacity of the weak-map
+	 * @param loadFactor          the load factor threshold of the weak-map resizing
+	 * @param concurrencyLevel    the expected number of threads
+	 *                            that will concurrently write to the map
+	 * @param keyReferenceType    the reference type used for keys
+	 * @param valueReferenceType  the reference type used for mutexes
+	 * @param identityComparisons true to compare keys by == instead of equals
+	 * @param fair                true to make mutexes with the fair locks
+	 */
+	XMutexFactoryImpl(int initialCapacity,
+	                  float loadFactor,
+	                  int concurrencyLevel,
+	                  ConcurrentReferenceHashMap.ReferenceType keyReferenceType,
+	                  ConcurrentReferenceHashMap.ReferenceType valueReferenceType,
+	                  boolean identityComparisons,
+	                  boolean fair) {
+		EnumSet<ConcurrentReferenceHashMap.Option> options = identityComparisons
+		                                                     ? EnumSet.of(ConcurrentReferenceHashMap.Option.IDENTITY_COMPARISONS)
+		                                                     : null;
+		this.map = new ConcurrentReferenceHashMap<>(initialCapacity,
+		                                            loadFactor,
 		                                            concurrencyLevel,
-		                                            referenceType,
-		                                            referenceType,
-		                                            null);
+		                                            keyReferenceType,
+		                                            valueReferenceType,
+		                                            options);
+		this.mutexOf = fair ? key -> new XMutex<>(key, true) : XMutex::new;
 	}
 
 	/**
@@ -59,7 +85,17 @@ public class XMutexFactoryImpl<KeyT> implements XMutexFactory<KeyT> {
 	 */
 	@Override
 	public XMutex<KeyT> getMutex(KeyT key) {
-		return this.map.computeIfAbsent(key, XMutex::new);
+		return this.map.computeIfAbsent(key, mutexOf);
+	}
+
+	/**
+	 * Creates and returns mutexes of all keys. Keys are grouped by segments
+	 * of the weak-map, and the lock of a segment is taken at most once
+	 * to create mutexes of absent keys of this segment.
+	 */
+	@Override
+	public List<XMutex<KeyT>> getMutexes(Collection<KeyT> keys) {
+		return this.map.computeIfAbsentAll(keys, mutexOf);
 	}
 
 	/**
@@ -76,6 +112,6 @@ public class XMutexFactoryImpl<KeyT> implements XMutexFactory<KeyT> {
 	 * when new items are created by a factory. This method can be used to force a purge.
 	 */
 	public void purgeUnreferenced() {
-		((ConcurrentReferenceHashMap) this.map).purgeStaleEntries();
+		this.map.purgeStaleEntries();
 	}
 }
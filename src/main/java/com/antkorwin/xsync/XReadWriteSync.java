@@ -0,0 +1,218 @@
+package com.antkorwin.xsync;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * XReadWriteSync provides a read/write locking by the value of a key.
+ * <p>
+ * Many threads can read by the same key at the same time, but a writer
+ * excludes both readers and other writers of this key. The read/write lock
+ * lives in the mutex obtained from the {@link XMutexFactory}, so it has
+ * the same value-based identity and the same lifetime as mutexes of XSync.
+ * <p>
+ * Note that the read/write lock is independent of the mutex lock which used
+ * by {@link XSync}, don't mix XSync and XReadWriteSync calls for the same keys.
+ * <p>
+ * A {@link StripedXMutexFactory} isn't supported: different keys of one stripe
+ * share a read/write lock, so a write lock of a key inside a read block of
+ * another key in the same stripe would wait for itself.
+ *
+ * @author Korovin Anatoliy
+ */
+public class XReadWriteSync<KeyT> {
+
+	private final XMutexFactory<KeyT> mutexFactory;
+	private final MutexSorter<KeyT> mutexSorter;
+	private final boolean writerPreference;
+
+	/**
+	 * Make the new XReadWriteSync instance with an individual mutex factory
+	 */
+	public XReadWriteSync() {
+		this(new XMutexFactoryImpl<>());
+	}
+
+	/**
+	 * Make the new XReadWriteSync with selected mutex factory
+	 *
+	 * @param mutexFactory the mutex factory instance to obtain all mutexes from key values
+	 */
+	public XReadWriteSync(XMutexFactory<KeyT> mutexFactory) {
+		this(mutexFactory, false);
+	}
+
+	/**
+	 * Make the new XReadWriteSync with selected mutex factory and the locking policy.
+	 * <p>
+	 * With the writer preference a waiting writer blocks new readers of the key,
+	 * and locks are granted in the order of arrival, so a stream of readers
+	 * can't starve writers. Without it readers may barge ahead of a waiting writer,
+	 * which gives a better throughput of reading.
+	 * The policy is applied when the read/write lock of a key is created,
+	 * so all instances which share a mutex factory should use the same policy.
+	 *
+	 * @param mutexFactory     the mutex factory instance to obtain all mutexes from key values
+	 * @param writerPreference true to prevent the starvation of writers
+	 * @throws IllegalArgumentException if the factory is a {@link StripedXMutexFactory}
+	 */
+	public XReadWriteSync(XMutexFactory<KeyT> mutexFactory, boolean writerPreference) {
+		if (mutexFactory instanceof StripedXMutexFactory) {
+			throw new IllegalArgumentException("Striped mutexes are not supported by XReadWriteSync");
+		}
+		this.mutexFactory = mutexFactory;
+		this.mutexSorter = new MutexSorter<>(mutexFactory);
+		this.writerPreference = writerPreference;
+	}
+
+	/**
+	 * Executes a runnable under the read lock of the key,
+	 * concurrently with other readers of the same key.
+	 *
+	 * @param mutexKey key for the synchronization locks
+	 * @param runnable function that we need to run
+	 */
+	public void executeRead(KeyT mutexKey, Runnable runnable) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			Lock lock = lock(mutex, false);
+			try {
+				runnable.run();
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Evaluate a supplier under the read lock of the key,
+	 * concurrently with other readers of the same key.
+	 *
+	 * @param mutexKey  key for the synchronization locks
+	 * @param supplier  function that we need to run under the lock
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result which return by a supplier
+	 */
+	public <ResultT> ResultT evaluateRead(KeyT mutexKey, Supplier<ResultT> supplier) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			Lock lock = lock(mutex, false);
+			try {
+				return supplier.get();
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Executes a runnable under the write lock of the key,
+	 * exclusively to all readers and writers of the same key.
+	 *
+	 * @param mutexKey key for the synchronization locks
+	 * @param runnable function that we need to run
+	 */
+	public void executeWrite(KeyT mutexKey, Runnable runnable) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			Lock lock = lock(mutex, true);
+			try {
+				runnable.run();
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Evaluate a supplier under the write lock of the key,
+	 * exclusively to all readers and writers of the same key.
+	 *
+	 * @param mutexKey  key for the synchronization locks
+	 * @param supplier  function that we need to run under the lock
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result which return by a supplier
+	 */
+	public <ResultT> ResultT evaluateWrite(KeyT mutexKey, Supplier<ResultT> supplier) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			Lock lock = lock(mutex, true);
+			try {
+				return supplier.get();
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Execute the runnable under read locks of the first collection of keys
+	 * and write locks of the second one.
+	 * <p>
+	 * Locks are taken in the same order as in the multi-keys methods of {@link XSync},
+	 * it doesn't depend on the order of keys in collections, so concurrent calls
+	 * with mixed sets of keys can't deadlock. If a key is in both collections
+	 * then only the write lock is taken.
+	 *
+	 * @param readKeys  keys to take read locks
+	 * @param writeKeys keys to take write locks
+	 * @param runnable  code block which is necessary to synchronize by the keys
+	 */
+	public void execute(Collection<KeyT> readKeys, Collection<KeyT> writeKeys, Runnable runnable) {
+		evaluate(readKeys, writeKeys, () -> {
+			runnable.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Evaluate the supplier under read locks of the first collection of keys
+	 * and write locks of the second one.
+	 * <p>
+	 * Locks are taken in the same order as in the multi-keys methods of {@link XSync},
+	 * it doesn't depend on the order of keys in collections, so concurrent calls
+	 * with mixed sets of keys can't deadlock. If a key is in both collections
+	 * then only the write lock is taken.
+	 *
+	 * @param readKeys  keys to take read locks
+	 * @param writeKeys keys to take write locks
+	 * @param supplier  code block which is necessary to synchronize by the keys
+	 * @param <ResultT> the type of a supplier result
+	 * @return the result of supplier execution
+	 */
+	public <ResultT> ResultT evaluate(Collection<KeyT> readKeys,
+	                                  Collection<KeyT> writeKeys,
+	                                  Supplier<ResultT> supplier) {
+
+		if (readKeys.isEmpty() && writeKeys.isEmpty()) {
+			throw new RuntimeException("Empty key list");
+		}
+
+		MutexBatch<KeyT> batch = mutexSorter.getOrderedBatch(readKeys, writeKeys);
+		try {
+			batch.lockAllReadWrite(writerPreference);
+			return supplier.get();
+		} finally {
+			batch.close(mutexFactory);
+		}
+	}
+
+	private Lock lock(XMutex<KeyT> mutex, boolean write) {
+		ReadWriteLock readWriteLock = mutex.getReadWriteLock(writerPreference);
+		Lock lock = write ? readWriteLock.writeLock() : readWriteLock.readLock();
+		lock.lock();
+		return lock;
+	}
+}
@@ -0,0 +1,204 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * XSemaphore limits the count of threads which work with the same key
+ * at the same time, like a quota of a tenant or connections to a host.
+ * <p>
+ * The semaphore of a key lives in the mutex obtained from the {@link XMutexFactory},
+ * so it has the same value-based identity and the same lifetime as mutexes of XSync:
+ * the semaphore of an idle key, which has all its permits, is collected with the mutex.
+ * <p>
+ * Keys which share a mutex (like in {@link StripedXMutexFactory}) share the semaphore too.
+ *
+ * @author Korovin Anatoliy
+ */
+public class XSemaphore<KeyT> {
+
+	private final XMutexFactory<KeyT> mutexFactory;
+	private final ToIntFunction<KeyT> permitsOfKey;
+
+	/**
+	 * Make the new XSemaphore with the same count of permits for all keys
+	 *
+	 * @param permits the count of permits of each key
+	 */
+	public XSemaphore(int permits) {
+		this(key -> permits);
+	}
+
+	/**
+	 * Make the new XSemaphore with individual counts of permits,
+	 * the function is called when the semaphore of a key is created.
+	 *
+	 * @param permitsOfKey the function which returns the count of permits of a key
+	 */
+	public XSemaphore(ToIntFunction<? super KeyT> permitsOfKey) {
+		this(new XMutexFactoryImpl<>(), permitsOfKey);
+	}
+
+	/**
+	 * Make the new XSemaphore with selected mutex factory
+	 *
+	 * @param mutexFactory the mutex factory instance to obtain all mutexes from key values
+	 * @param permitsOfKey the function which returns the count of permits of a key
+	 */
+	public XSemaphore(XMutexFactory<KeyT> mutexFactory, ToIntFunction<? super KeyT> permitsOfKey) {
+		this.mutexFactory = mutexFactory;
+		this.permitsOfKey = key -> {
+			int permits = permitsOfKey.applyAsInt(key);
+			if (permits < 1) {
+				throw new IllegalArgumentException("permits of the key must be positive: " + permits);
+			}
+			return permits;
+		};
+	}
+
+	/**
+	 * Executes a runnable with one permit of the key.
+	 *
+	 * @param key      key of the semaphore
+	 * @param runnable function that we need to run
+	 */
+	public void execute(KeyT key, Runnable runnable) {
+		execute(key, 1, runnable);
+	}
+
+	/**
+	 * Executes a runnable with the given count of permits of the key,
+	 * waits until the key has enough free permits.
+	 *
+	 * @param key      key of the semaphore
+	 * @param permits  count of permits which this call takes, not more than the key has
+	 * @param runnable function that we need to run
+	 * @throws IllegalArgumentException if the key has less permits than this call takes
+	 */
+	public void execute(KeyT key, int permits, Runnable runnable) {
+		evaluate(key, permits, () -> {
+			runnable.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Evaluate a supplier with the given count of permits of the key,
+	 * waits until the key has enough free permits.
+	 *
+	 * @param key       key of the semaphore
+	 * @param permits   count of permits which this call takes, not more than the key has
+	 * @param supplier  function that we need to run
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result which return by a supplier
+	 * @throws IllegalArgumentException if the key has less permits than this call takes
+	 */
+	public <ResultT> ResultT evaluate(KeyT key, int permits, Supplier<ResultT> supplier) {
+		checkPermits(permits);
+		XMutex<KeyT> mutex = mutexFactory.getMutex(key);
+		try {
+			KeySemaphore semaphore = mutex.getSemaphore(key, permitsOfKey);
+			semaphore.checkPermits(permits);
+			semaphore.acquireUninterruptibly(permits);
+			try {
+				return supplier.get();
+			} finally {
+				semaphore.release(permits);
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Executes a runnable with the given count of permits of the key,
+	 * only if the key has enough free permits or gets them within the given timeout.
+	 * <p>
+	 * If the current thread is interrupted while waiting,
+	 * then the runnable isn't executed and the interrupt status is restored.
+	 *
+	 * @param key      key of the semaphore
+	 * @param permits  count of permits which this call takes, not more than the key has
+	 * @param timeout  the maximum time to wait for permits
+	 * @param unit     the time unit of the timeout argument
+	 * @param runnable function that we need to run
+	 * @return true if the runnable was executed, and false if permits weren't acquired
+	 * @throws IllegalArgumentException if the key has less permits than this call takes
+	 */
+	public boolean tryExecute(KeyT key, int permits, long timeout, TimeUnit unit, Runnable runnable) {
+		checkPermits(permits);
+		XMutex<KeyT> mutex = mutexFactory.getMutex(key);
+		try {
+			KeySemaphore semaphore = mutex.getSemaphore(key, permitsOfKey);
+			semaphore.checkPermits(permits);
+			if (!semaphore.tryAcquire(permits) && !awaitPermits(semaphore, permits, timeout, unit)) {
+				return false;
+			}
+			try {
+				runnable.run();
+			} finally {
+				semaphore.release(permits);
+			}
+			return true;
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Executes a runnable with one permit of the key,
+	 * only if the key has a free permit at the moment of call.
+	 *
+	 * @param key      key of the semaphore
+	 * @param runnable function that we need to run
+	 * @return true if the runnable was executed, and false if all permits are taken
+	 */
+	public boolean tryExecute(KeyT key, Runnable runnable) {
+		return tryExecute(key, 1, 0, TimeUnit.NANOSECONDS, runnable);
+	}
+
+	private static boolean awaitPermits(Semaphore semaphore, int permits, long timeout, TimeUnit unit) {
+		if (timeout <= 0) {
+			return false;
+		}
+		try {
+			return semaphore.tryAcquire(permits, timeout, unit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static void checkPermits(int permits) {
+		if (permits < 1) {
+			throw new IllegalArgumentException("permits must be positive: " + permits);
+		}
+	}
+
+	/**
+	 * The semaphore of a key, which keeps the count of permits of the key,
+	 * so a call can't wait forever for more permits than the key has.
+	 */
+	static final class KeySemaphore extends Semaphore {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int permitsOfKey;
+
+		KeySemaphore(int permitsOfKey) {
+			super(permitsOfKey);
+			this.permitsOfKey = permitsOfKey;
+		}
+
+		private void checkPermits(int permits) {
+			if (permits > permitsOfKey) {
+				throw new IllegalArgumentException("permits must not exceed permits of the key: "
+				                                   + permits + " > " + permitsOfKey);
+			}
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * XStampedSync provides an optimistic reading by the value of a key.
+ * <p>
+ * A reader doesn't write to the lock at all while there is no writer of the key,
+ * it takes a stamp, evaluates the supplier and validates the stamp. Only if a writer
+ * came in between, the supplier is evaluated once more under the read lock.
+ * Stamped locks live in mutexes obtained from the {@link XMutexFactory},
+ * so they have the same value-based identity and lifetime as mutexes of XSync.
+ * <p>
+ * Note that stamped locks aren't reentrant, don't call XStampedSync
+ * for the same key from a write block. For the same reason a {@link StripedXMutexFactory}
+ * isn't supported, different keys of one stripe share a stamped lock.
+ *
+ * @author Korovin Anatoliy
+ */
+public class XStampedSync<KeyT> {
+
+	private final XMutexFactory<KeyT> mutexFactory;
+
+	/**
+	 * Make the new XStampedSync instance with an individual mutex factory
+	 */
+	public XStampedSync() {
+		this(new XMutexFactoryImpl<>());
+	}
+
+	/**
+	 * Make the new XStampedSync with selected mutex factory
+	 *
+	 * @param mutexFactory the mutex factory instance to obtain all mutexes from key values
+	 * @throws IllegalArgumentException if the factory is a {@link StripedXMutexFactory}
+	 */
+	public XStampedSync(XMutexFactory<KeyT> mutexFactory) {
+		if (mutexFactory instanceof StripedXMutexFactory) {
+			throw new IllegalArgumentException("Striped mutexes are not supported by XStampedSync");
+		}
+		this.mutexFactory = mutexFactory;
+	}
+
+	/**
+	 * Evaluate a supplier optimistically, without locking when there isn't
+	 * an active writer of the key, and under the read lock otherwise.
+	 * <p>
+	 * The supplier may be evaluated twice and may see a state which is
+	 * modified by a concurrent writer at the first time, so it must be free of side effects
+	 * and must only read the state guarded by this key. An exception thrown
+	 * from an invalidated optimistic evaluation is ignored and the supplier is retried.
+	 *
+	 * @param mutexKey  key for the synchronization locks
+	 * @param supplier  function that reads the state guarded by the key
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result which return by a supplier
+	 */
+	public <ResultT> ResultT evaluateOptimistic(KeyT mutexKey, Supplier<ResultT> supplier) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			StampedLock lock = mutex.getStampedLock();
+			long stamp = lock.tryOptimisticRead();
+			if (stamp != 0) {
+				try {
+					ResultT result = supplier.get();
+					if (lock.validate(stamp)) {
+						return result;
+					}
+				} catch (RuntimeException e) {
+					if (lock.validate(stamp)) {
+						throw e;
+					}
+				}
+			}
+			stamp = lock.readLock();
+			try {
+				return supplier.get();
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Evaluate a supplier under the read lock of the key,
+	 * concurrently with other readers of the same key.
+	 *
+	 * @param mutexKey  key for the synchronization locks
+	 * @param supplier  function that we need to run under the lock
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result which return by a supplier
+	 */
+	public <ResultT> ResultT evaluateRead(KeyT mutexKey, Supplier<ResultT> supplier) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			StampedLock lock = mutex.getStampedLock();
+			long stamp = lock.readLock();
+			try {
+				return supplier.get();
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Executes a runnable under the write lock of the key,
+	 * it invalidates all optimistic readings which are in progress.
+	 *
+	 * @param mutexKey key for the synchronization locks
+	 * @param runnable function that we need to run
+	 */
+	public void executeWrite(KeyT mutexKey, Runnable runnable) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			StampedLock lock = mutex.getStampedLock();
+			long stamp = lock.writeLock();
+			try {
+				runnable.run();
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Evaluate a supplier under the write lock of the key,
+	 * it invalidates all optimistic readings which are in progress.
+	 *
+	 * @param mutexKey  key for the synchronization locks
+	 * @param supplier  function that we need to run under the lock
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result which return by a supplier
+	 */
+	public <ResultT> ResultT evaluateWrite(KeyT mutexKey, Supplier<ResultT> supplier) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			StampedLock lock = mutex.getStampedLock();
+			long stamp = lock.writeLock();
+			try {
+				return supplier.get();
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+}
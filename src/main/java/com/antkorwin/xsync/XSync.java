@@ -1,7 +1,17 @@
 package com.antkorwin.xsync;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -16,15 +26,20 @@ public class XSync<KeyT> {
 
 	private final XMutexFactory<KeyT> mutexFactory;
 	private final MutexSorter<KeyT> mutexSorter;
+	private final XSyncMetrics metrics;
+	private final String tag;
 
-	private static final Object globalLock = new Object();
+	/**
+	 * Async tasks which are ready to start in the current thread,
+	 * it prevents a deep recursion when many tasks complete synchronously.
+	 */
+	private static final ThreadLocal<ArrayDeque<CompletableFuture<Void>>> asyncHandOffs = new ThreadLocal<>();
 
 	/**
 	 * Make the new XSync instance with an individual mutex factory
 	 */
 	public XSync() {
-		this.mutexFactory = new XMutexFactoryImpl<>();
-		this.mutexSorter = new MutexSorter<>(mutexFactory);
+		this(new XMutexFactoryImpl<>());
 	}
 
 	/**
@@ -35,8 +50,54 @@ public class XSync<KeyT> {
 	 * @param mutexFactory the mutex factory instance to obtain all mutexes from key values
 	 */
 	public XSync(XMutexFactory<KeyT> mutexFactory) {
+		this(mutexFactory, new MutexSorter<>(mutexFactory), null, null);
+	}
+
+	/**
+	 * Make the new XSync with selected mutex factory,
+	 * which reports the waiting and the holding of locks to the metrics listener.
+	 *
+	 * @param mutexFactory the mutex factory instance to obtain all mutexes from key values
+	 * @param metrics      the listener of locking, or null to not measure anything
+	 */
+	public XSync(XMutexFactory<KeyT> mutexFactory, XSyncMetrics metrics) {
+		this(mutexFactory, new MutexSorter<>(mutexFactory), metrics, null);
+	}
+
+	private XSync(XMutexFactory<KeyT> mutexFactory,
+	              MutexSorter<KeyT> mutexSorter,
+	              XSyncMetrics metrics,
+	              String tag) {
 		this.mutexFactory = mutexFactory;
-		this.mutexSorter = new MutexSorter<>(mutexFactory);
+		this.mutexSorter = mutexSorter;
+		this.metrics = metrics;
+		this.tag = tag;
+	}
+
+	/**
+	 * Settings of the mutex factory and XSync, like the expected count of keys:
+	 * <pre>{@code
+	 * XSync<UUID> xsync = XSync.builder()
+	 *                          .expectedSize(5_000_000)
+	 *                          .concurrencyLevel(64)
+	 *                          .build();
+	 * }</pre>
+	 *
+	 * @return the new builder with default settings
+	 */
+	public static XSyncBuilder builder() {
+		return new XSyncBuilder();
+	}
+
+	/**
+	 * Make a view of this XSync which reports the call-site tag to the metrics listener,
+	 * the view uses the same mutexes as this XSync.
+	 *
+	 * @param tag the name of the call-site (like "checkout" or "refund")
+	 * @return XSync with the same mutex factory and metrics listener
+	 */
+	public XSync<KeyT> tagged(String tag) {
+		return new XSync<>(mutexFactory, mutexSorter, metrics, tag);
 	}
 
 	/**
@@ -47,10 +108,7 @@ public class XSync<KeyT> {
 	 * @param runnable function that we need to run
 	 */
 	public void execute(KeyT mutexKey, Runnable runnable) {
-		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
-		synchronized (mutex) {
-			runnable.run();
-		}
+		executeOnMutex(mutexFactory.getMutex(mutexKey), mutexKey, runnable);
 	}
 
 	/**
@@ -63,57 +121,452 @@ public class XSync<KeyT> {
 	 * @return result which return by a supplier
 	 */
 	public <ResultT> ResultT evaluate(KeyT mutexKey, Supplier<ResultT> supplier) {
+		return evaluateOnMutex(mutexFactory.getMutex(mutexKey), mutexKey, supplier);
+	}
+
+	/**
+	 * Executes a runnable in a synchronization block on the obtained mutex,
+	 * it's a common part of single-key methods for all types of keys.
+	 * <p>
+	 * Metrics receive the key of the caller, because a mutex
+	 * of {@link StripedXMutexFactory} isn't bound to a key.
+	 */
+	void executeOnMutex(XMutex<KeyT> mutex, Object mutexKey, Runnable runnable) {
+		try {
+			LockMeasurement measurement = startMeasurement();
+			if (measurement == null) {
+				XSyncDeadlockDetector.lock(mutex);
+				try {
+					runnable.run();
+				} finally {
+					mutex.unlock();
+				}
+			} else {
+				boolean contended = lockContended(mutex);
+				try {
+					measurement.acquired(mutexKey, contended);
+					runnable.run();
+				} finally {
+					mutex.unlock();
+					measurement.released();
+				}
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Evaluate a supplier in a synchronization block on the obtained mutex,
+	 * it's a common part of single-key methods for all types of keys.
+	 */
+	<ResultT> ResultT evaluateOnMutex(XMutex<KeyT> mutex, Object mutexKey, Supplier<ResultT> supplier) {
+		try {
+			LockMeasurement measurement = startMeasurement();
+			if (measurement == null) {
+				XSyncDeadlockDetector.lock(mutex);
+				try {
+					return supplier.get();
+				} finally {
+					mutex.unlock();
+				}
+			} else {
+				boolean contended = lockContended(mutex);
+				try {
+					measurement.acquired(mutexKey, contended);
+					return supplier.get();
+				} finally {
+					mutex.unlock();
+					measurement.released();
+				}
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
+
+	/**
+	 * Lock and check whether the lock was held by another thread.
+	 */
+	private static boolean lockContended(XMutex<?> mutex) {
+		if (mutex.tryLockInTurn()) {
+			return false;
+		}
+		XSyncDeadlockDetector.lock(mutex);
+		return true;
+	}
+
+	/**
+	 * Start the timing of a call if there is a metrics listener
+	 * or an enabled JFR event, otherwise XSync doesn't measure anything.
+	 *
+	 * @return the measurement, or null if the call isn't measured
+	 */
+	private LockMeasurement startMeasurement() {
+		if (metrics == null && !XSyncEvents.isEnabled()) {
+			return null;
+		}
+		return new LockMeasurement(metrics, tag);
+	}
+
+
+	/**
+	 * Executes a runnable in a synchronization block on a mutex,
+	 * only if the mutex of the key is free or becomes free within the given timeout.
+	 * <p>
+	 * If the current thread is interrupted while waiting,
+	 * then the runnable isn't executed and the interrupt status is restored.
+	 *
+	 * @param mutexKey key for the synchronization locks
+	 * @param timeout  the maximum time to wait for the mutex
+	 * @param unit     the time unit of the timeout argument
+	 * @param runnable function that we need to run
+	 * @return true if the runnable was executed, and false if the mutex wasn't acquired
+	 */
+	public boolean tryExecute(KeyT mutexKey, long timeout, TimeUnit unit, Runnable runnable) {
 		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
-		synchronized (mutex) {
-			return supplier.get();
+		try {
+			LockMeasurement measurement = startMeasurement();
+			boolean contended = !mutex.tryLock();
+			if (contended && !awaitLock(mutex, timeout, unit)) {
+				return false;
+			}
+			try {
+				if (measurement != null) {
+					measurement.acquired(mutexKey, contended);
+				}
+				runnable.run();
+			} finally {
+				mutex.unlock();
+				if (measurement != null) {
+					measurement.released();
+				}
+			}
+			return true;
+		} finally {
+			mutexFactory.release(mutex);
 		}
 	}
 
+	/**
+	 * Executes a runnable in a synchronization block on a mutex,
+	 * only if nobody holds the mutex of the key at the moment of call.
+	 * It's useful to skip a work which is already in progress for the same key.
+	 *
+	 * @param mutexKey key for the synchronization locks
+	 * @param runnable function that we need to run
+	 * @return true if the runnable was executed, and false if the mutex is busy
+	 */
+	public boolean tryExecute(KeyT mutexKey, Runnable runnable) {
+		return tryExecute(mutexKey, 0, TimeUnit.NANOSECONDS, runnable);
+	}
 
 	/**
-	 * Execute the runnable within a pair of synchronized blocks
-	 * which built from the first and the second keys.
+	 * Evaluate a supplier in a synchronization block on a mutex,
+	 * if the mutex of the key is free or becomes free within the given timeout,
+	 * otherwise evaluate a fallback without synchronization.
 	 * <p>
-	 * Note that the ordering of keys in synchronized blocks doesn't depend
-	 * on the ordering of keys in this method arguments. The order depends
-	 * on the values of keys, it prevents your code from deadlocking.
-	 * So, you don't need to care about the order of the keys if you use XSync.
+	 * If the current thread is interrupted while waiting,
+	 * then the fallback is evaluated and the interrupt status is restored.
 	 *
-	 * @param firstKey  the first key to use in the synchronization blocks
-	 * @param secondKey the second key
-	 * @param runnable  code which you want to synchronize
+	 * @param mutexKey  key for the synchronization locks
+	 * @param timeout   the maximum time to wait for the mutex
+	 * @param unit      the time unit of the timeout argument
+	 * @param supplier  function that we need to run in sync. block
+	 * @param fallback  function that we run when the mutex wasn't acquired
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result of the supplier, or the result of the fallback
 	 */
-	public void execute(KeyT firstKey, KeyT secondKey, Runnable runnable) {
+	public <ResultT> ResultT tryEvaluate(KeyT mutexKey,
+	                                     long timeout,
+	                                     TimeUnit unit,
+	                                     Supplier<ResultT> supplier,
+	                                     Supplier<ResultT> fallback) {
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		try {
+			LockMeasurement measurement = startMeasurement();
+			boolean contended = !mutex.tryLock();
+			if (contended && !awaitLock(mutex, timeout, unit)) {
+				return fallback.get();
+			}
+			try {
+				if (measurement != null) {
+					measurement.acquired(mutexKey, contended);
+				}
+				return supplier.get();
+			} finally {
+				mutex.unlock();
+				if (measurement != null) {
+					measurement.released();
+				}
+			}
+		} finally {
+			mutexFactory.release(mutex);
+		}
+	}
 
-		XMutex<KeyT> firstMutex = mutexFactory.getMutex(firstKey);
-		XMutex<KeyT> secondMutex = mutexFactory.getMutex(secondKey);
+	/**
+	 * Evaluate a supplier in a synchronization block on a mutex,
+	 * if nobody holds the mutex of the key at the moment of call,
+	 * otherwise evaluate a fallback without synchronization.
+	 *
+	 * @param mutexKey  key for the synchronization locks
+	 * @param supplier  function that we need to run in sync. block
+	 * @param fallback  function that we run when the mutex is busy
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result of the supplier, or the result of the fallback
+	 */
+	public <ResultT> ResultT tryEvaluate(KeyT mutexKey, Supplier<ResultT> supplier, Supplier<ResultT> fallback) {
+		return tryEvaluate(mutexKey, 0, TimeUnit.NANOSECONDS, supplier, fallback);
+	}
+
+	/**
+	 * Wait for the mutex which is held by another thread.
+	 */
+	private boolean awaitLock(XMutex<KeyT> mutex, long timeout, TimeUnit unit) {
+		if (timeout <= 0) {
+			return false;
+		}
+		try {
+			return mutex.tryLock(timeout, unit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+
+	/**
+	 * Evaluate a supplier in a synchronization block on a mutex, like
+	 * {@link #evaluate(Object, Supplier)}, but callers which come while
+	 * the supplier of the same key is in flight don't evaluate it again,
+	 * they wait for it and receive the same result or the same exception.
+	 * <p>
+	 * The in-flight evaluation is kept in the mutex of the key,
+	 * so it disappears with the mutex when the key goes idle. A nested call
+	 * of the same key from the supplier evaluates the nested supplier at once.
+	 *
+	 * @param mutexKey  key for the synchronization locks
+	 * @param supplier  function that we need to run in sync. block
+	 * @param <ResultT> type of tht result of a supplier
+	 * @return result of the supplier which was in flight, or of this supplier
+	 */
+	public <ResultT> ResultT evaluateShared(KeyT mutexKey, Supplier<ResultT> supplier) {
 
-		int firstHash = System.identityHashCode(firstMutex);
-		int secondHash = System.identityHashCode(secondMutex);
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		SharedEvaluation evaluation = new SharedEvaluation();
+		SharedEvaluation inFlight = mutex.startSharedEvaluation(mutexKey, evaluation);
+		if (inFlight != null) {
+			if (mutex.isHeldByCurrentThread()) {
+				// a nested call, the evaluation in flight waits for this one
+				return evaluateOnMutex(mutex, mutexKey, supplier);
+			}
+			try {
+				return inFlight.await();
+			} finally {
+				mutexFactory.release(mutex);
+			}
+		}
 
-		if (firstHash > secondHash) {
-			XMutex<KeyT> tmp = firstMutex;
-			firstMutex = secondMutex;
-			secondMutex = tmp;
+		ResultT result;
+		try {
+			result = evaluateOnMutex(mutex, mutexKey, supplier);
+		} catch (Throwable e) {
+			mutex.finishSharedEvaluation(mutexKey, evaluation);
+			evaluation.completeExceptionally(e);
+			throw e;
 		}
+		mutex.finishSharedEvaluation(mutexKey, evaluation);
+		evaluation.complete(result);
+		return result;
+	}
 
-		if (firstHash != secondHash) {
-			synchronized (firstMutex) {
-				synchronized (secondMutex) {
-					runnable.run();
+
+	/**
+	 * Process the item by the batch handler in a synchronization block on a mutex,
+	 * together with items of the same key which were queued by other threads
+	 * while the mutex was held: the next holder of the mutex passes all of them
+	 * to the batch handler at once, like a group commit.
+	 * <p>
+	 * The call returns when its item is processed, by this thread or by another one.
+	 * The batch handler of the holder processes items of all callers,
+	 * so callers of the same key should pass the same handler.
+	 * If the handler throws an exception, then all callers of the batch throw it.
+	 *
+	 * @param mutexKey     key for the synchronization locks
+	 * @param item         the item to process
+	 * @param batchHandler function that processes the list of items in sync. block
+	 * @param <ItemT>      type of items
+	 */
+	public <ItemT> void executeBatched(KeyT mutexKey, ItemT item, Consumer<List<ItemT>> batchHandler) {
+
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		BatchedItem<ItemT> batched = new BatchedItem<>(mutexKey, item);
+		Queue<BatchedItem<?>> queue = mutex.getBatchQueue();
+		queue.add(batched);
+		executeOnMutex(mutex, mutexKey, () -> {
+			if (!batched.isProcessed()) {
+				processBatch(queue, mutexKey, batchHandler);
+			}
+		});
+		batched.rethrowFailure();
+	}
+
+	/**
+	 * Take all queued items of the key and pass them to the batch handler.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <ItemT> void processBatch(Queue<BatchedItem<?>> queue,
+	                                         Object key,
+	                                         Consumer<List<ItemT>> batchHandler) {
+		List<BatchedItem<ItemT>> batch = new ArrayList<>();
+		List<BatchedItem<?>> otherKeys = null;
+		BatchedItem<?> next;
+		while ((next = queue.poll()) != null) {
+			if (next.isItemOf(key)) {
+				batch.add((BatchedItem<ItemT>) next);
+			} else {
+				if (otherKeys == null) {
+					otherKeys = new ArrayList<>();
 				}
+				otherKeys.add(next);
 			}
+		}
+		if (otherKeys != null) {
+			queue.addAll(otherKeys);
+		}
+		List<ItemT> items = new ArrayList<>(batch.size());
+		for (BatchedItem<ItemT> batched : batch) {
+			items.add(batched.getItem());
+		}
+		Throwable failure = null;
+		try {
+			batchHandler.accept(items);
+		} catch (Throwable e) {
+			failure = e;
+		}
+		for (BatchedItem<ItemT> batched : batch) {
+			batched.processed(failure);
+		}
+	}
+
+
+	/**
+	 * Executes a runnable in the executor after all async tasks of the key,
+	 * which were submitted before, are done.
+	 * <p>
+	 * Nothing waits for the key in a blocking way, the task is chained
+	 * to the previous async task of the key. Note that async tasks don't exclude
+	 * blocking calls like {@link #execute(Object, Runnable)} on the same key.
+	 *
+	 * @param mutexKey key for the synchronization
+	 * @param runnable function that we need to run
+	 * @param executor executor to run the function
+	 * @return the future which completes when the runnable is done
+	 */
+	public CompletableFuture<Void> executeAsync(KeyT mutexKey, Runnable runnable, Executor executor) {
+		return evaluateAsync(mutexKey, () -> CompletableFuture.runAsync(runnable, executor));
+	}
+
+	/**
+	 * Starts an async computation after all async tasks of the key,
+	 * which were submitted before, are done. The next task of the key
+	 * starts only when the stage returned by this supplier completes.
+	 * <p>
+	 * The supplier is called in the current thread if the key is free,
+	 * otherwise in the thread which completes the previous task of the key,
+	 * so it should just start the computation and return its stage without blocking.
+	 *
+	 * @param mutexKey  key for the synchronization
+	 * @param supplier  function that starts the computation
+	 * @param <ResultT> type of the result of computation
+	 * @return the future which completes with the result of the computation
+	 */
+	public <ResultT> CompletableFuture<ResultT> evaluateAsync(KeyT mutexKey,
+	                                                          Supplier<? extends CompletionStage<ResultT>> supplier) {
+
+		XMutex<KeyT> mutex = mutexFactory.getMutex(mutexKey);
+		CompletableFuture<ResultT> result = new CompletableFuture<>();
+		CompletableFuture<Void> done = new CompletableFuture<>();
+		CompletableFuture<Void> previous = mutex.swapAsyncTail(done);
+		if (previous == null) {
+			startAsync(mutex, supplier, done, result);
 		} else {
-			synchronized (globalLock) {
-				synchronized (firstMutex) {
-					synchronized (secondMutex) {
-						runnable.run();
-					}
-				}
+			previous.whenComplete((ignored, error) -> startAsync(mutex, supplier, done, result));
+		}
+		return result;
+	}
+
+	private <ResultT> void startAsync(XMutex<KeyT> mutex,
+	                                  Supplier<? extends CompletionStage<ResultT>> supplier,
+	                                  CompletableFuture<Void> done,
+	                                  CompletableFuture<ResultT> result) {
+		CompletionStage<ResultT> stage;
+		try {
+			stage = Objects.requireNonNull(supplier.get(), "The supplier returned null instead of a stage");
+		} catch (Throwable e) {
+			finishAsync(mutex, done);
+			result.completeExceptionally(e);
+			return;
+		}
+		stage.whenComplete((value, error) -> {
+			finishAsync(mutex, done);
+			if (error != null) {
+				result.completeExceptionally(error);
+			} else {
+				result.complete(value);
+			}
+		});
+	}
+
+	private void finishAsync(XMutex<KeyT> mutex, CompletableFuture<Void> done) {
+		try {
+			if (!mutex.clearAsyncTail(done)) {
+				handOff(done);
 			}
+		} finally {
+			mutexFactory.release(mutex);
 		}
 	}
 
+	private static void handOff(CompletableFuture<Void> done) {
+		ArrayDeque<CompletableFuture<Void>> handOffs = asyncHandOffs.get();
+		if (handOffs != null) {
+			handOffs.add(done);
+			return;
+		}
+		handOffs = new ArrayDeque<>();
+		asyncHandOffs.set(handOffs);
+		try {
+			do {
+				done.complete(null);
+			} while ((done = handOffs.poll()) != null);
+		} finally {
+			asyncHandOffs.remove();
+		}
+	}
+
+
+	/**
+	 * Execute the runnable within a pair of synchronized blocks
+	 * which built from the first and the second keys.
+	 * <p>
+	 * Note that the ordering of keys in synchronized blocks doesn't depend
+	 * on the ordering of keys in this method arguments. The order depends
+	 * on the values of keys, it prevents your code from deadlocking.
+	 * So, you don't need to care about the order of the keys if you use XSync.
+	 *
+	 * @param firstKey  the first key to use in the synchronization blocks
+	 * @param secondKey the second key
+	 * @param runnable  code which you want to synchronize
+	 */
+	public void execute(KeyT firstKey, KeyT secondKey, Runnable runnable) {
+		evaluate(firstKey, secondKey, () -> {
+			runnable.run();
+			return null;
+		});
+	}
+
 
 	/**
 	 * Evaluate the {@link Supplier} within a pair of synchronized blocks
@@ -134,30 +587,44 @@ public class XSync<KeyT> {
 
 		XMutex<KeyT> firstMutex = mutexFactory.getMutex(firstKey);
 		XMutex<KeyT> secondMutex = mutexFactory.getMutex(secondKey);
-
-		int firstHash = System.identityHashCode(firstMutex);
-		int secondHash = System.identityHashCode(secondMutex);
-
-		if (firstHash > secondHash) {
-			XMutex<KeyT> tmp = firstMutex;
-			firstMutex = secondMutex;
-			secondMutex = tmp;
-		}
-
-		if (firstHash != secondHash) {
-			synchronized (firstMutex) {
-				synchronized (secondMutex) {
-					return supplier.get();
-				}
+		try {
+			if (mutexSorter.compare(firstMutex, secondMutex) > 0) {
+				XMutex<KeyT> tmp = firstMutex;
+				firstMutex = secondMutex;
+				secondMutex = tmp;
 			}
-		} else {
-			synchronized (globalLock) {
-				synchronized (firstMutex) {
-					synchronized (secondMutex) {
-						return supplier.get();
-					}
+			LockMeasurement measurement = startMeasurement();
+			boolean contended = lockPair(firstMutex, secondMutex);
+			try {
+				if (measurement != null) {
+					measurement.acquired(Arrays.asList(firstKey, secondKey), contended);
+				}
+				return supplier.get();
+			} finally {
+				secondMutex.unlock();
+				firstMutex.unlock();
+				if (measurement != null) {
+					measurement.released();
 				}
 			}
+		} finally {
+			mutexFactory.release(firstMutex);
+			mutexFactory.release(secondMutex);
+		}
+	}
+
+	/**
+	 * Lock a pair of mutexes, which is sorted in the locking order.
+	 *
+	 * @return true if any of mutexes was held by another thread
+	 */
+	private static boolean lockPair(XMutex<?> firstMutex, XMutex<?> secondMutex) {
+		boolean contended = lockContended(firstMutex);
+		try {
+			return lockContended(secondMutex) || contended;
+		} catch (RuntimeException | Error e) {
+			firstMutex.unlock();
+			throw e;
 		}
 	}
 
@@ -175,34 +642,15 @@ public class XSync<KeyT> {
 	 * @param runnable code block which is necessary to synchronize by the sequence of keys
 	 */
 	public void execute(Collection<KeyT> keys, Runnable runnable) {
-
-		if (keys.size() < 1) {
-			throw new RuntimeException("Empty key list");
-		}
-
-		List<XMutex<KeyT>> mutexes = mutexSorter.getOrderedMutexList(keys);
-		if (mutexSorter.existCollision(mutexes)) {
-			synchronized (globalLock) {
-				recursiveExecute(mutexes, runnable);
-			}
-		} else {
-			recursiveExecute(mutexes, runnable);
-		}
-	}
-
-	private void recursiveExecute(List<XMutex<KeyT>> mutexes, Runnable runnable) {
-
-		XMutex<KeyT> currentMutex = mutexes.get(0);
-		mutexes.remove(currentMutex);
-
-		if (mutexes.size() == 0) {
-			synchronized (currentMutex) {
-				runnable.run();
-			}
-		} else {
-			synchronized (currentMutex) {
-				recursiveExecute(mutexes, runnable);
+		LockMeasurement measurement = startMeasurement();
+		MutexBatch<KeyT> batch = lockBatch(keys);
+		try {
+			if (measurement != null) {
+				measurement.acquired(keys, batch.isContended());
 			}
+			runnable.run();
+		} finally {
+			closeBatch(batch, measurement);
 		}
 	}
 
@@ -222,34 +670,41 @@ public class XSync<KeyT> {
 	 */
 	public <ResultT> ResultT evaluate(Collection<KeyT> keys, Supplier<ResultT> supplier) {
 
+		LockMeasurement measurement = startMeasurement();
+		MutexBatch<KeyT> batch = lockBatch(keys);
+		try {
+			if (measurement != null) {
+				measurement.acquired(keys, batch.isContended());
+			}
+			return supplier.get();
+		} finally {
+			closeBatch(batch, measurement);
+		}
+	}
+
+	private MutexBatch<KeyT> lockBatch(Collection<KeyT> keys) {
+
 		if (keys.size() < 1) {
 			throw new RuntimeException("Empty key list");
 		}
 
-		List<XMutex<KeyT>> mutexes = mutexSorter.getOrderedMutexList(keys);
-		if (mutexSorter.existCollision(mutexes)) {
-			synchronized (globalLock) {
-				return recursiveEvaluate(mutexes, supplier);
-			}
-		} else {
-			return recursiveEvaluate(mutexes, supplier);
+		MutexBatch<KeyT> batch = mutexSorter.getOrderedBatch(keys);
+		try {
+			batch.lockAll();
+			return batch;
+		} catch (RuntimeException | Error e) {
+			batch.close(mutexFactory);
+			throw e;
 		}
 	}
 
-	private <ResultT> ResultT recursiveEvaluate(List<XMutex<KeyT>> mutexes, Supplier<ResultT> supplier) {
-
-		XMutex<KeyT> currentMutex = mutexes.get(0);
-		mutexes.remove(currentMutex);
-
-		if (mutexes.size() == 0) {
-			synchronized (currentMutex) {
-				return supplier.get();
-			}
-		} else {
-			synchronized (currentMutex) {
-				return recursiveEvaluate(mutexes, supplier);
+	private void closeBatch(MutexBatch<KeyT> batch, LockMeasurement measurement) {
+		try {
+			batch.close(mutexFactory);
+		} finally {
+			if (measurement != null) {
+				measurement.released();
 			}
 		}
 	}
-
 }
@@ -0,0 +1,221 @@
+package com.antkorwin.xsync;
+
+import java.util.Objects;
+
+import org.hibernate.validator.internal.util.ConcurrentReferenceHashMap;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * Fluent settings of the {@link XMutexFactoryImpl} and the {@link XSync} based on it.
+ * <p>
+ * The weak-map of the factory is sized by the expected count of live keys
+ * and the load factor at once, so a factory for millions of keys
+ * doesn't rehash segments again and again while it's warming up.
+ * <p>
+ * The same settings make the {@link LongXSync} and the {@link IntXSync},
+ * except reference types and identity comparisons: factories of primitive keys
+ * always keep weak references to mutexes and compare values of keys.
+ *
+ * @author Korovin Anatoliy
+ */
+public final class XSyncBuilder {
+
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	private int expectedSize = 16;
+	private float loadFactor = 0.75f;
+	private int concurrencyLevel = 16;
+	private ConcurrentReferenceHashMap.ReferenceType keyReferenceType = ConcurrentReferenceHashMap.ReferenceType.WEAK;
+	private ConcurrentReferenceHashMap.ReferenceType valueReferenceType = ConcurrentReferenceHashMap.ReferenceType.WEAK;
+	private boolean identityComparisons;
+	private boolean fair;
+	private XSyncMetrics metrics;
+
+	XSyncBuilder() {
+	}
+
+	/**
+	 * @param expectedSize the expected count of live keys at the same time
+	 * @return this builder
+	 */
+	public XSyncBuilder expectedSize(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Expected size must not be negative");
+		}
+		this.expectedSize = expectedSize;
+		return this;
+	}
+
+	/**
+	 * @param loadFactor the average count of keys per bucket which leads to resizing
+	 * @return this builder
+	 */
+	public XSyncBuilder loadFactor(float loadFactor) {
+		if (!(loadFactor > 0)) {
+			throw new IllegalArgumentException("Load factor must be positive");
+		}
+		this.loadFactor = loadFactor;
+		return this;
+	}
+
+	/**
+	 * @param concurrencyLevel the expected number of threads
+	 *                         that will concurrently create mutexes
+	 * @return this builder
+	 */
+	public XSyncBuilder concurrencyLevel(int concurrencyLevel) {
+		if (concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("Concurrency level must be positive");
+		}
+		this.concurrencyLevel = concurrencyLevel;
+		return this;
+	}
+
+	/**
+	 * @param keyReferenceType the reference type used for keys, WEAK by default
+	 * @return this builder
+	 */
+	public XSyncBuilder keyReferenceType(ConcurrentReferenceHashMap.ReferenceType keyReferenceType) {
+		this.keyReferenceType = Objects.requireNonNull(keyReferenceType);
+		return this;
+	}
+
+	/**
+	 * @param valueReferenceType the reference type used for mutexes, WEAK by default,
+	 *                           mutexes are never removed from the factory with STRONG references,
+	 *                           which also require STRONG keys
+	 * @return this builder
+	 */
+	public XSyncBuilder valueReferenceType(ConcurrentReferenceHashMap.ReferenceType valueReferenceType) {
+		this.valueReferenceType = Objects.requireNonNull(valueReferenceType);
+		return this;
+	}
+
+	/**
+	 * Compare keys by == instead of equals, so only the same instance
+	 * of a key gives the same mutex.
+	 *
+	 * @return this builder
+	 */
+	public XSyncBuilder identityComparisons() {
+		this.identityComparisons = true;
+		return this;
+	}
+
+	/**
+	 * Make mutexes with fair locks, which are given to the longest waiting thread.
+	 * It prevents the starvation of waiting threads on hot keys,
+	 * but the throughput of a contended key is much lower than with non-fair locks.
+	 *
+	 * @param fair true to make fair locks, false by default
+	 * @return this builder
+	 */
+	public XSyncBuilder fair(boolean fair) {
+		this.fair = fair;
+		return this;
+	}
+
+	/**
+	 * @param metrics the listener of locking, or null to not measure anything
+	 * @return this builder
+	 */
+	public XSyncBuilder metrics(XSyncMetrics metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+
+	/**
+	 * Make the mutex factory, it's useful to share the factory
+	 * between a few XSync instances.
+	 *
+	 * @param <KeyT> type of keys
+	 * @return the new mutex factory
+	 * @throws IllegalStateException if strong mutexes were set with not strong keys
+	 */
+	public <KeyT> XMutexFactoryImpl<KeyT> buildFactory() {
+		if (valueReferenceType == ConcurrentReferenceHashMap.ReferenceType.STRONG
+		    && keyReferenceType != ConcurrentReferenceHashMap.ReferenceType.STRONG) {
+			// a strong mutex holds its key, so the key is never collected
+			// and the entry stays in the map forever
+			throw new IllegalStateException("Strong mutexes require strong keys");
+		}
+		return new XMutexFactoryImpl<>(initialCapacity(),
+		                               loadFactor,
+		                               concurrencyLevel,
+		                               keyReferenceType,
+		                               valueReferenceType,
+		                               identityComparisons,
+		                               fair);
+	}
+
+	/**
+	 * Make the XSync with the new mutex factory.
+	 *
+	 * @param <KeyT> type of keys
+	 * @return the new XSync instance
+	 * @throws IllegalStateException if strong mutexes were set with not strong keys
+	 */
+	public <KeyT> XSync<KeyT> build() {
+		return new XSync<>(buildFactory(), metrics);
+	}
+
+	/**
+	 * Make the mutex factory for primitive long keys.
+	 *
+	 * @return the new mutex factory
+	 * @throws IllegalStateException if reference types or identity comparisons were changed
+	 */
+	public LongXMutexFactory buildLongFactory() {
+		checkPrimitiveKeys();
+		return new LongXMutexFactory(initialCapacity(), loadFactor, concurrencyLevel, fair);
+	}
+
+	/**
+	 * Make the LongXSync with the new mutex factory.
+	 *
+	 * @return the new LongXSync instance
+	 * @throws IllegalStateException if reference types or identity comparisons were changed
+	 */
+	public LongXSync buildLong() {
+		return new LongXSync(buildLongFactory(), metrics);
+	}
+
+	/**
+	 * Make the mutex factory for primitive int keys.
+	 *
+	 * @return the new mutex factory
+	 * @throws IllegalStateException if reference types or identity comparisons were changed
+	 */
+	public IntXMutexFactory buildIntFactory() {
+		checkPrimitiveKeys();
+		return new IntXMutexFactory(initialCapacity(), loadFactor, concurrencyLevel, fair);
+	}
+
+	/**
+	 * Make the IntXSync with the new mutex factory.
+	 *
+	 * @return the new IntXSync instance
+	 * @throws IllegalStateException if reference types or identity comparisons were changed
+	 */
+	public IntXSync buildInt() {
+		return new IntXSync(buildIntFactory(), metrics);
+	}
+
+	/**
+	 * @return the capacity which keeps the expected count of keys under the load factor
+	 */
+	int initialCapacity() {
+		double capacity = Math.ceil(expectedSize / (double) loadFactor);
+		return (int) Math.min(capacity, MAXIMUM_CAPACITY);
+	}
+
+	private void checkPrimitiveKeys() {
+		if (keyReferenceType != ConcurrentReferenceHashMap.ReferenceType.WEAK
+		    || valueReferenceType != ConcurrentReferenceHashMap.ReferenceType.WEAK
+		    || identityComparisons) {
+			throw new IllegalStateException("Reference types and identity comparisons "
+			                                + "aren't supported by factories of primitive keys");
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * Opt-in runtime detector of deadlocks between nested synchronized blocks
+ * of all XSync instances, like `account` then `ledger` in one thread
+ * and `ledger` then `account` in another one.
+ * <p>
+ * The detector keeps the graph of waiting: a mutex has the owner thread,
+ * and a thread which is going to block registers the mutex which it waits for.
+ * Before blocking, the thread walks this graph from the owner of its mutex,
+ * and if the walk comes back to the thread itself, then it closes a cycle,
+ * which is reported to the listener with the held and waited keys of every thread.
+ * <p>
+ * Nothing is recorded while a mutex is free, so the detection costs
+ * only on contended locks, when a thread is going to block anyway.
+ * Only exclusive locks of XSync are checked (single, pair and multi-key blocks),
+ * read/write locks and locks with a timeout aren't.
+ *
+ * @author Korovin Anatoliy
+ */
+public final class XSyncDeadlockDetector {
+
+	private static final ConcurrentHashMap<Thread, XMutex<?>> waitingThreads = new ConcurrentHashMap<>();
+
+	private static volatile Consumer<? super XSyncDeadlockException> listener;
+
+	private XSyncDeadlockDetector() {
+	}
+
+	/**
+	 * Enable the detection with the listener of deadlocks.
+	 * <p>
+	 * The listener is called in the thread which closes a cycle, right before
+	 * it starts waiting. If the listener throws an exception, then this thread
+	 * doesn't lock the mutex and releases its locks, so the deadlock is broken.
+	 *
+	 * @param listener the listener of found deadlocks, like a logger
+	 */
+	public static void enable(Consumer<? super XSyncDeadlockException> listener) {
+		XSyncDeadlockDetector.listener = listener;
+	}
+
+	/**
+	 * Enable the detection which throws {@link XSyncDeadlockException}
+	 * in the thread which closes a cycle of waiting.
+	 */
+	public static void enableThrowing() {
+		enable(deadlock -> {
+			throw deadlock;
+		});
+	}
+
+	/**
+	 * Disable the detection, threads which are already waiting aren't affected.
+	 */
+	public static void disable() {
+		listener = null;
+	}
+
+	public static boolean isEnabled() {
+		return listener != null;
+	}
+
+	/**
+	 * Lock and check the cycle of waiting if the detection is enabled.
+	 *
+	 * @param lock the lock of a mutex or any other lock
+	 */
+	static void lock(Lock lock) {
+		Consumer<? super XSyncDeadlockException> currentListener = listener;
+		if (currentListener == null || !(lock instanceof XMutex)) {
+			lock.lock();
+		} else if (!((XMutex<?>) lock).tryLockInTurn()) {
+			awaitMutex((XMutex<?>) lock, currentListener);
+		}
+	}
+
+	private static void awaitMutex(XMutex<?> mutex, Consumer<? super XSyncDeadlockException> currentListener) {
+		Thread current = Thread.currentThread();
+		waitingThreads.put(current, mutex);
+		try {
+			XSyncDeadlockException deadlock = findCycle(current, mutex);
+			if (deadlock != null) {
+				currentListener.accept(deadlock);
+			}
+			mutex.lock();
+		} finally {
+			waitingThreads.remove(current);
+		}
+	}
+
+	/**
+	 * Walk from the owner of the mutex to the mutex which this owner waits for,
+	 * and so on, until a free mutex, a running thread or the current thread.
+	 *
+	 * @return the deadlock if the walk comes back to the current thread, otherwise null
+	 */
+	private static XSyncDeadlockException findCycle(Thread current, XMutex<?> mutex) {
+		List<Thread> threads = new ArrayList<>();
+		List<XMutex<?>> mutexes = new ArrayList<>();
+		Thread thread = current;
+		XMutex<?> waited = mutex;
+		// a cycle without the current thread is found by threads of that cycle
+		int limit = waitingThreads.size();
+		for (int i = 0; i <= limit; i++) {
+			threads.add(thread);
+			mutexes.add(waited);
+			Thread owner = waited.getOwnerThread();
+			if (owner == null) {
+				return null;
+			}
+			if (owner == current) {
+				return isStillWaiting(threads, mutexes) ? deadlockOf(threads, mutexes) : null;
+			}
+			waited = waitingThreads.get(owner);
+			if (waited == null) {
+				return null;
+			}
+			thread = owner;
+		}
+		return null;
+	}
+
+	/**
+	 * Check the found cycle once again, threads which were seen in the walk
+	 * could release the mutex and wait for another one in the meantime.
+	 */
+	private static boolean isStillWaiting(List<Thread> threads, List<XMutex<?>> mutexes) {
+		int size = threads.size();
+		for (int i = 0; i < size; i++) {
+			Thread thread = threads.get(i);
+			XMutex<?> waited = mutexes.get(i);
+			if (waitingThreads.get(thread) != waited || waited.getOwnerThread() != threads.get((i + 1) % size)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static XSyncDeadlockException deadlockOf(List<Thread> threads, List<XMutex<?>> mutexes) {
+		int size = threads.size();
+		List<XSyncDeadlockException.Waiter> waiters = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			// a thread holds the mutex which the previous thread of the cycle waits for
+			XMutex<?> held = mutexes.get((i + size - 1) % size);
+			waiters.add(new XSyncDeadlockException.Waiter(threads.get(i).getName(),
+			                                              held.getKey(),
+			                                              mutexes.get(i).getKey()));
+		}
+		return new XSyncDeadlockException(waiters);
+	}
+}
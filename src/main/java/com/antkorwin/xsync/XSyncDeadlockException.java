@@ -0,0 +1,74 @@
+package com.antkorwin.xsync;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * The deadlock of XSync keys found by {@link XSyncDeadlockDetector}:
+ * a cycle of threads, where every thread holds a key
+ * which the previous thread of the cycle waits for.
+ *
+ * @author Korovin Anatoliy
+ */
+public class XSyncDeadlockException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient List<Waiter> waiters;
+
+	XSyncDeadlockException(List<Waiter> waiters) {
+		super(messageOf(waiters));
+		this.waiters = Collections.unmodifiableList(waiters);
+	}
+
+	/**
+	 * @return threads of the cycle, starting with the thread which found it
+	 */
+	public List<Waiter> getWaiters() {
+		return waiters;
+	}
+
+	private static String messageOf(List<Waiter> waiters) {
+		StringBuilder message = new StringBuilder("Deadlock of XSync keys:");
+		for (Waiter waiter : waiters) {
+			message.append("\n\t").append(waiter);
+		}
+		return message.toString();
+	}
+
+	/**
+	 * A thread of the deadlock with the key which it holds
+	 * and the key which it waits for.
+	 */
+	public static final class Waiter {
+
+		private final String threadName;
+		private final Object heldKey;
+		private final Object waitedKey;
+
+		Waiter(String threadName, Object heldKey, Object waitedKey) {
+			this.threadName = threadName;
+			this.heldKey = heldKey;
+			this.waitedKey = waitedKey;
+		}
+
+		public String getThreadName() {
+			return threadName;
+		}
+
+		public Object getHeldKey() {
+			return heldKey;
+		}
+
+		public Object getWaitedKey() {
+			return waitedKey;
+		}
+
+		@Override
+		public String toString() {
+			return "\"" + threadName + "\" holds [" + heldKey + "] and waits for [" + waitedKey + "]";
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.antkorwin.xsync;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * Java Flight Recorder events of XSync: the waiting for a key and the holding of it.
+ * <p>
+ * This class is a no-op for Java 8, the jar is multi-release and
+ * the JDK 11+ version of this class commits {@code xsync.KeyWait}
+ * and {@code xsync.KeyHold} events, when they are enabled in a recording.
+ *
+ * @author Korovin Anatoliy
+ */
+final class XSyncEvents {
+
+	private XSyncEvents() {
+	}
+
+	/**
+	 * @return true if any event of XSync is enabled in a running recording
+	 */
+	static boolean isEnabled() {
+		return false;
+	}
+
+	/**
+	 * Start the timing of a waiting for a key.
+	 *
+	 * @return the wait event, or null if the event isn't enabled
+	 */
+	static Object beginWait() {
+		return null;
+	}
+
+	/**
+	 * Commit the wait event if it exceeds the threshold of a recording
+	 * and start the timing of the holding of a key.
+	 *
+	 * @param waitEvent the event returned by {@link #beginWait()}, may be null
+	 * @param key       the key or the collection of keys
+	 * @param tag       the call-site tag or null
+	 * @param contended true if the lock was held by another thread
+	 * @return the hold event, or null if the event isn't enabled
+	 */
+	static Object endWait(Object waitEvent, Object key, String tag, boolean contended) {
+		return null;
+	}
+
+	/**
+	 * Commit the hold event if it exceeds the threshold of a recording.
+	 *
+	 * @param holdEvent the event returned by {@link #endWait}
+	 * @param key       the key or the collection of keys
+	 * @param tag       the call-site tag or null
+	 */
+	static void endHold(Object holdEvent, Object key, String tag) {
+	}
+}
@@ -0,0 +1,37 @@
+package com.antkorwin.xsync;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Listener of the locking by keys in {@link XSync}.
+ * <p>
+ * XSync calls the listener in the thread which takes the lock,
+ * right after the lock is acquired and right after it's released,
+ * so an implementation must be thread-safe and fast.
+ * XSync without a listener doesn't measure anything.
+ *
+ * @author Korovin Anatoliy
+ */
+public interface XSyncMetrics {
+
+	/**
+	 * Called when the lock of a key is acquired.
+	 *
+	 * @param key       the key, or the collection of keys for multi-key calls
+	 * @param tag       the call-site tag of the XSync view, or null (see {@link XSync#tagged})
+	 * @param waitNanos time of waiting for the lock, zero if the lock was free
+	 * @param contended true if the lock was held by another thread at the moment of call
+	 */
+	default void acquired(Object key, String tag, long waitNanos, boolean contended) {
+	}
+
+	/**
+	 * Called when the lock of a key is released.
+	 *
+	 * @param key       the key, or the collection of keys for multi-key calls
+	 * @param tag       the call-site tag of the XSync view, or null
+	 * @param holdNanos time between the acquiring and the releasing of the lock
+	 */
+	default void released(Object key, String tag, long holdNanos) {
+	}
+}
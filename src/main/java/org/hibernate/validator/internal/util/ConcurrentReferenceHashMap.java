@@ -21,6 +21,7 @@ import java.lang.ref.WeakReference;
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.EnumSet;
@@ -29,10 +30,12 @@ import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 /**
  * An advanced hash table supporting configurable garbage collection semantics
@@ -257,7 +260,11 @@ final public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V>
 	 * @return the segment
 	 */
 	final Segment<K,V> segmentFor(int hash) {
-		return segments[(hash >>> segmentShift) & segmentMask];
+		return segments[segmentIndex(hash)];
+	}
+
+	private int segmentIndex(int hash) {
+		return (hash >>> segmentShift) & segmentMask;
 	}
 
 	private int hashOf(Object key) {
@@ -705,6 +712,82 @@ final public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V>
 			}
 		}
 
+		/**
+		 * Returns the value mapped to the key, computing it under the
+		 * segment lock only when the lock-free read finds nothing, so
+		 * the mapping function is applied at most once per absent key.
+		 */
+		V computeIfAbsent(K key, int hash, Function<? super K, ? extends V> mappingFunction) {
+			V value = get(key, hash);
+			if (value != null)
+				return value;
+
+			lock();
+			try {
+				removeStale();
+				return computeIfAbsentLocked(key, hash, mappingFunction);
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * Resolves a group of keys of this segment under one lock,
+		 * values of keys at the given positions are stored to the values array.
+		 */
+		@SuppressWarnings("unchecked")
+		void computeIfAbsentAll(Object[] keys, int[] hashes, Object[] values,
+								int[] positions, int from, int to,
+								Function<? super K, ? extends V> mappingFunction) {
+			lock();
+			try {
+				removeStale();
+				for (int i = from; i < to; i++) {
+					int position = positions[i];
+					values[position] = computeIfAbsentLocked((K) keys[position], hashes[position], mappingFunction);
+				}
+			} finally {
+				unlock();
+			}
+		}
+
+		private V computeIfAbsentLocked(K key, int hash, Function<? super K, ? extends V> mappingFunction) {
+			int c = count;
+			if (c++ > threshold) {// ensure capacity
+				int reduced = rehash();
+				if (reduced > 0)  // adjust from possible weak cleanups
+					count = (c -= reduced) - 1; // write-volatile
+			}
+
+			HashEntry<K,V>[] tab = table;
+			int index = hash & (tab.length - 1);
+			HashEntry<K,V> first = tab[index];
+			HashEntry<K,V> e = first;
+			while (e != null && (e.hash != hash || !keyEq(key, e.key())))
+				e = e.next;
+
+			V value;
+			if (e != null) {
+				value = e.value();
+				if (value != null)
+					return value;
+			}
+
+			value = mappingFunction.apply(key);
+			if (value == null)
+				return null;
+
+			if (e != null) { // null = gc AFTER stale removal
+				e.setValue(value, valueType, refQueue);
+			}
+			else {
+				++modCount;
+				tab[index] = newHashEntry(key, hash, first, value);
+				count = c; // write-volatile
+			}
+			return value;
+		}
+
 		int rehash() {
 			HashEntry<K,V>[] oldTable = table;
 			int oldCapacity = oldTable.length;
@@ -1241,6 +1324,82 @@ final public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V>
 		return segmentFor(hash).put(key, hash, value, true);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>Unlike the default implementation of {@link java.util.concurrent.ConcurrentMap},
+	 * the key is hashed once, an existing value is read without locking,
+	 * and the mapping function is applied under the segment lock,
+	 * so concurrent callers never compute a value which is thrown away.
+	 *
+	 * @throws NullPointerException if the specified key or mappingFunction is null
+	 */
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		if (mappingFunction == null)
+			throw new NullPointerException();
+		int hash = hashOf(key);
+		return segmentFor(hash).computeIfAbsent(key, hash, mappingFunction);
+	}
+
+	/**
+	 * Returns values of all keys, like {@link #computeIfAbsent} for each of them.
+	 *
+	 * <p>Each key is hashed once and existing values are read without locking.
+	 * Absent keys are grouped by segments, and each segment is locked
+	 * at most once to compute values of its group.
+	 *
+	 * @param keys            keys to look up
+	 * @param mappingFunction the function to compute a value of an absent key
+	 * @return values in the iteration order of keys, null for keys
+	 *         whose computed value is null
+	 * @throws NullPointerException if any key or the mappingFunction is null
+	 */
+	@SuppressWarnings("unchecked")
+	public List<V> computeIfAbsentAll(Collection<? extends K> keys,
+									  Function<? super K, ? extends V> mappingFunction) {
+		if (mappingFunction == null)
+			throw new NullPointerException();
+		Object[] keyArray = keys.toArray();
+		int size = keyArray.length;
+		int[] hashes = new int[size];
+		Object[] values = new Object[size];
+
+		// segments of absent keys are counted at positions shifted by one
+		int[] groups = null;
+		int absent = 0;
+		for (int i = 0; i < size; i++) {
+			int hash = hashOf(keyArray[i]);
+			hashes[i] = hash;
+			values[i] = segmentFor(hash).get(keyArray[i], hash);
+			if (values[i] == null) {
+				if (groups == null)
+					groups = new int[segments.length + 1];
+				groups[segmentIndex(hash) + 1]++;
+				absent++;
+			}
+		}
+
+		if (absent > 0) {
+			for (int s = 0; s < segments.length; s++)
+				groups[s + 1] += groups[s];
+			// positions of absent keys sorted by segments, groups[s] is the start of a segment
+			int[] positions = new int[absent];
+			int[] next = groups.clone();
+			for (int i = 0; i < size; i++) {
+				if (values[i] == null)
+					positions[next[segmentIndex(hashes[i])]++] = i;
+			}
+			for (int s = 0; s < segments.length; s++) {
+				if (groups[s] < groups[s + 1])
+					segments[s].computeIfAbsentAll(keyArray, hashes, values,
+												   positions, groups[s], groups[s + 1],
+												   mappingFunction);
+			}
+		}
+		return (List<V>) Arrays.asList(values);
+	}
+
 	/**
 	 * Copies all of the mappings from the specified map to this one.
 	 * These mappings replace any mappings that this map had for any of the
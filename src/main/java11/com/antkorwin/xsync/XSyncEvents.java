@@ -0,0 +1,108 @@
+package com.antkorwin.xsync;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * Java Flight Recorder events of XSync for JDK 11+: the waiting for a key
+ * and the holding of it. Events are allocated only while they are enabled
+ * in a running recording, and only events longer than the threshold
+ * of the recording are committed, so the key is converted to a string
+ * just for slow calls.
+ *
+ * @author Korovin Anatoliy
+ */
+final class XSyncEvents {
+
+	private static final EventType KEY_WAIT = EventType.getEventType(KeyWait.class);
+	private static final EventType KEY_HOLD = EventType.getEventType(KeyHold.class);
+
+	private XSyncEvents() {
+	}
+
+	static boolean isEnabled() {
+		return KEY_WAIT.isEnabled() || KEY_HOLD.isEnabled();
+	}
+
+	static Object beginWait() {
+		if (!KEY_WAIT.isEnabled()) {
+			return null;
+		}
+		KeyWait event = new KeyWait();
+		event.begin();
+		return event;
+	}
+
+	static Object endWait(Object waitEvent, Object key, String tag, boolean contended) {
+		if (waitEvent != null) {
+			KeyWait wait = (KeyWait) waitEvent;
+			wait.end();
+			if (wait.shouldCommit()) {
+				wait.key = String.valueOf(key);
+				wait.tag = tag;
+				wait.contended = contended;
+				wait.commit();
+			}
+		}
+		if (!KEY_HOLD.isEnabled()) {
+			return null;
+		}
+		KeyHold hold = new KeyHold();
+		hold.contended = contended;
+		hold.begin();
+		return hold;
+	}
+
+	static void endHold(Object holdEvent, Object key, String tag) {
+		KeyHold hold = (KeyHold) holdEvent;
+		hold.end();
+		if (hold.shouldCommit()) {
+			hold.key = String.valueOf(key);
+			hold.tag = tag;
+			hold.commit();
+		}
+	}
+
+	@Name("xsync.KeyWait")
+	@Label("Key Wait")
+	@Category("XSync")
+	@Description("Waiting for the lock of a key")
+	@Threshold("10 ms")
+	static class KeyWait extends Event {
+
+		@Label("Key")
+		String key;
+
+		@Label("Tag")
+		String tag;
+
+		@Label("Contended")
+		@Description("The lock was held by another thread")
+		boolean contended;
+	}
+
+	@Name("xsync.KeyHold")
+	@Label("Key Hold")
+	@Category("XSync")
+	@Description("Holding the lock of a key")
+	@Threshold("10 ms")
+	static class KeyHold extends Event {
+
+		@Label("Key")
+		String key;
+
+		@Label("Tag")
+		String tag;
+
+		@Label("Contended")
+		@Description("The lock was held by another thread")
+		boolean contended;
+	}
+}
@@ -0,0 +1,130 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.antkorwin.commonutils.concurrent.NonAtomicInt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * non-blocking synchronization by the value of keys
+ *
+ * @author Korovin Anatoliy
+ */
+class AsyncXSyncTest {
+
+	private static final int TASKS_COUNT = 10_000;
+
+	private XSync<String> xsync = new XSync<>();
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(8);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void tasksOfTheSameKeyRunSequentially() {
+		// Arrange
+		NonAtomicInt counter = new NonAtomicInt(0);
+		AtomicInteger running = new AtomicInteger();
+		AtomicBoolean overlapped = new AtomicBoolean();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		// Act
+		for (int i = 0; i < TASKS_COUNT; i++) {
+			futures.add(xsync.executeAsync(new String("key"), () -> {
+				if (running.incrementAndGet() > 1) {
+					overlapped.set(true);
+				}
+				counter.increment();
+				running.decrementAndGet();
+			}, executor));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		// Assert
+		assertThat(counter.getValue()).isEqualTo(TASKS_COUNT);
+		assertThat(overlapped).isFalse();
+	}
+
+	@Test
+	void nextTaskStartsWhenPreviousStageCompletes() {
+		// Arrange
+		CompletableFuture<String> first = new CompletableFuture<>();
+		CompletableFuture<String> firstResult = xsync.evaluateAsync(new String("key"), () -> first);
+		AtomicBoolean secondStarted = new AtomicBoolean();
+		// Act
+		CompletableFuture<String> secondResult = xsync.evaluateAsync(new String("key"), () -> {
+			secondStarted.set(true);
+			return CompletableFuture.completedFuture("second");
+		});
+		// Assert
+		assertThat(secondStarted).isFalse();
+		CompletableFuture.runAsync(() -> first.complete("first"), executor);
+		assertThat(secondResult.join()).isEqualTo("second");
+		assertThat(firstResult.join()).isEqualTo("first");
+	}
+
+	@Test
+	void otherKeysAreNotBlocked() {
+		// Arrange
+		CompletableFuture<String> first = new CompletableFuture<>();
+		xsync.evaluateAsync("key", () -> first);
+		// Act
+		CompletableFuture<String> result = xsync.evaluateAsync("other",
+		                                                       () -> CompletableFuture.completedFuture("other"));
+		// Assert
+		assertThat(result.join()).isEqualTo("other");
+		first.complete("first");
+	}
+
+	@Test
+	void failedTaskReleasesTheKey() {
+		// Arrange
+		CompletableFuture<String> failed = xsync.evaluateAsync("key", () -> {
+			throw new IllegalStateException("oops");
+		});
+		// Act
+		CompletableFuture<String> result = xsync.evaluateAsync("key",
+		                                                       () -> CompletableFuture.completedFuture("next"));
+		// Assert
+		assertThatThrownBy(failed::join).isInstanceOf(CompletionException.class)
+		                                .hasCauseInstanceOf(IllegalStateException.class);
+		assertThat(result.join()).isEqualTo("next");
+	}
+
+	@Test
+	void longChainOfCompletedStages() {
+		// Arrange
+		CompletableFuture<Integer> first = new CompletableFuture<>();
+		xsync.evaluateAsync("key", () -> first);
+		NonAtomicInt counter = new NonAtomicInt(0);
+		CompletableFuture<Integer> last = null;
+		for (int i = 0; i < TASKS_COUNT; i++) {
+			last = xsync.evaluateAsync("key", () -> CompletableFuture.completedFuture(counter.increment()));
+		}
+		// Act
+		first.complete(0);
+		// Assert
+		assertThat(last.join()).isEqualTo(TASKS_COUNT);
+	}
+}
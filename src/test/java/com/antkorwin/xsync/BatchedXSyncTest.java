@@ -0,0 +1,164 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.antkorwin.commonutils.concurrent.NonAtomicInt;
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * group processing of items which were queued while the key was held
+ *
+ * @author Korovin Anatoliy
+ */
+class BatchedXSyncTest {
+
+	private static final int CALLERS_COUNT = 10;
+
+	private XSync<String> xsync = new XSync<>();
+	private List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+	private ExecutorService executor;
+	private CountDownLatch locked;
+	private CountDownLatch unlock;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(CALLERS_COUNT + 1);
+		locked = new CountDownLatch(1);
+		unlock = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		unlock.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void singleItem() {
+		// Act
+		xsync.executeBatched("key", 1, batches::add);
+		// Assert
+		assertThat(batches).containsExactly(Collections.singletonList(1));
+	}
+
+	@Test
+	void itemsQueuedWhileKeyIsHeldAreProcessedTogether() throws Exception {
+		// Arrange
+		executor.submit(() -> xsync.execute("key", this::holdLock));
+		locked.await();
+		// Act
+		List<Future<?>> callers = new ArrayList<>();
+		for (int i = 0; i < CALLERS_COUNT; i++) {
+			int item = i;
+			callers.add(executor.submit(() -> xsync.executeBatched("key", item, batches::add)));
+		}
+		ThreadSleep.wait(1);
+		assertThat(batches).isEmpty();
+		unlock.countDown();
+		for (Future<?> caller : callers) {
+			caller.get();
+		}
+		// Assert
+		assertThat(batches).hasSize(1);
+		assertThat(batches.get(0)).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+	}
+
+	@Test
+	void failureOfHandlerIsThrownToAllCallersOfBatch() throws Exception {
+		// Arrange
+		RuntimeException failure = new IllegalStateException("flush failed");
+		Consumer<List<Integer>> failingHandler = items -> {
+			throw failure;
+		};
+		executor.submit(() -> xsync.execute("key", this::holdLock));
+		locked.await();
+		// Act
+		Future<?> first = executor.submit(() -> xsync.executeBatched("key", 1, failingHandler));
+		Future<?> second = executor.submit(() -> xsync.executeBatched("key", 2, failingHandler));
+		ThreadSleep.wait(1);
+		unlock.countDown();
+		// Assert
+		assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+		assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+		// the next batch isn't affected
+		xsync.executeBatched("key", 3, batches::add);
+		assertThat(batches).containsExactly(Collections.singletonList(3));
+	}
+
+	@Test
+	void differentKeysOfTheSameStripeAreNotMixed() throws Exception {
+		// Arrange
+		XSync<String> striped = new XSync<>(new StripedXMutexFactory<>(1));
+		List<String> firstBatches = new CopyOnWriteArrayList<>();
+		List<String> secondBatches = new CopyOnWriteArrayList<>();
+		executor.submit(() -> striped.execute("any", this::holdLock));
+		locked.await();
+		// Act
+		Future<?> first = executor.submit(() -> striped.executeBatched("first", "a", firstBatches::addAll));
+		Future<?> second = executor.submit(() -> striped.executeBatched("second", "b", secondBatches::addAll));
+		ThreadSleep.wait(1);
+		unlock.countDown();
+		first.get();
+		second.get();
+		// Assert
+		assertThat(firstBatches).containsExactly("a");
+		assertThat(secondBatches).containsExactly("b");
+	}
+
+	@Test
+	void everyItemIsProcessedOnce() {
+		// Arrange
+		NonAtomicInt sum = new NonAtomicInt(0);
+		AtomicInteger handlerCalls = new AtomicInteger();
+		AtomicInteger callsCount = new AtomicInteger();
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(100_000)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> {
+			                callsCount.incrementAndGet();
+			                xsync.executeBatched("key", 1, items -> {
+				                handlerCalls.incrementAndGet();
+				                for (Integer item : items) {
+					                sum.increment();
+				                }
+			                });
+		                });
+		// Assert
+		assertThat(sum.getValue()).isEqualTo(callsCount.get());
+		assertThat(handlerCalls.get()).isLessThanOrEqualTo(callsCount.get());
+	}
+
+	private void holdLock() {
+		locked.countDown();
+		try {
+			unlock.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.antkorwin.commonutils.concurrent.ConcurrentSet;
+import com.antkorwin.commonutils.gc.GcUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Created on 17/10/2026
+ *
+ * @author Korovin Anatoliy
+ */
+class CompactXMutexFactoryTest {
+
+	private static final int TIMEOUT_FOR_PREVENTION_OF_DEADLOCK = 30000;
+	private static final int NUMBER_OF_MUTEXES = 100_000;
+	private static final int NUMBER_OF_ITERATIONS = NUMBER_OF_MUTEXES * 100;
+
+	private CompactXMutexFactory<String> mutexFactory = new CompactXMutexFactory<>();
+
+	@Test
+	void sameMutexForEqualKeys() {
+		// Act
+		XMutex<String> firstMutex = mutexFactory.getMutex(new String("key"));
+		XMutex<String> secondMutex = mutexFactory.getMutex(new String("key"));
+		// Assert
+		assertThat(firstMutex).isSameAs(secondMutex);
+		assertThat(firstMutex.getKey()).isEqualTo("key");
+		assertThat(mutexFactory.size()).isEqualTo(1);
+	}
+
+	@Test
+	void differentMutexesForKeysWithSameHashCode() {
+		// Arrange
+		assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+		// Act
+		XMutex<String> firstMutex = mutexFactory.getMutex("Aa");
+		XMutex<String> secondMutex = mutexFactory.getMutex("BB");
+		// Assert
+		assertThat(firstMutex).isNotSameAs(secondMutex);
+		assertThat(mutexFactory.getMutex("BB")).isSameAs(secondMutex);
+		assertThat(mutexFactory.size()).isEqualTo(2);
+	}
+
+	@Test
+	void removeMutexAfterGc() {
+		// Arrange
+		XMutex<String> mutex = mutexFactory.getMutex("key");
+		int firstHashCode = System.identityHashCode(mutex);
+		mutex = null;
+		// Act
+		GcUtils.tryToAllocateAllAvailableMemory();
+		GcUtils.fullFinalization();
+		mutexFactory.purgeUnreferenced();
+		// Assert
+		await().atMost(5, TimeUnit.SECONDS)
+		       .until(mutexFactory::size, equalTo(0L));
+
+		XMutex<String> secondMutex = mutexFactory.getMutex("key");
+		assertThat(mutexFactory.size()).isEqualTo(1L);
+		assertThat(System.identityHashCode(secondMutex)).isNotEqualTo(firstHashCode);
+	}
+
+	@Test
+	void collectedMutexesInTheMiddleOfProbeSequence() {
+		// Arrange
+		CompactXMutexFactory<CollidingKey> factory = new CompactXMutexFactory<>(0, 1);
+		List<XMutex<CollidingKey>> kept = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			XMutex<CollidingKey> mutex = factory.getMutex(new CollidingKey(i));
+			if (i % 3 == 0) {
+				kept.add(mutex);
+			}
+		}
+		// Act
+		GcUtils.tryToAllocateAllAvailableMemory();
+		GcUtils.fullFinalization();
+		factory.purgeUnreferenced();
+		// Assert
+		await().atMost(5, TimeUnit.SECONDS)
+		       .until(factory::size, equalTo((long) kept.size()));
+		for (XMutex<CollidingKey> mutex : kept) {
+			assertThat(factory.getMutex(new CollidingKey(mutex.getKey().value))).isSameAs(mutex);
+		}
+		assertThat(factory.size()).isEqualTo(kept.size());
+	}
+
+	@Test
+	@Timeout(value = TIMEOUT_FOR_PREVENTION_OF_DEADLOCK, unit = TimeUnit.MILLISECONDS)
+	void concurrency() {
+		// Arrange
+		Set<XMutex<String>> results = ConcurrentSet.getInstance();
+		// Act
+		IntStream.range(0, NUMBER_OF_ITERATIONS)
+		         .parallel()
+		         .forEach(i -> results.add(mutexFactory.getMutex(String.valueOf(i % NUMBER_OF_MUTEXES))));
+		// Assert
+		assertThat(results).hasSize(NUMBER_OF_MUTEXES);
+		assertThat(mutexFactory.size()).isEqualTo(NUMBER_OF_MUTEXES);
+		List<String> keys = results.stream()
+		                           .map(XMutex::getKey)
+		                           .distinct()
+		                           .collect(toList());
+		assertThat(keys).hasSize(NUMBER_OF_MUTEXES);
+	}
+
+	@Test
+	void nullKey() {
+		assertThatThrownBy(() -> mutexFactory.getMutex(null)).isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	void wrongSettings() {
+		assertThatThrownBy(() -> new CompactXMutexFactory<String>(16, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new CompactXMutexFactory<String>(-1, 16)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static final class CollidingKey {
+
+		private final int value;
+
+		CollidingKey(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof CollidingKey && ((CollidingKey) o).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			// a half of keys share the same slot
+			return value % 2 == 0 ? 42 : value;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.antkorwin.xsync;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.antkorwin.commonutils.concurrent.ConcurrentSet;
+import com.antkorwin.commonutils.concurrent.NonAtomicInt;
+import com.antkorwin.commonutils.gc.GcUtils;
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Created on 17/10/2026
+ *
+ * @author Korovin Anatoliy
+ */
+class ConcurrentHashMapXMutexFactoryTest {
+
+	private static final int TIMEOUT_FOR_PREVENTION_OF_DEADLOCK = 30000;
+	private static final int NUMBER_OF_MUTEXES = 100_000;
+	private static final int NUMBER_OF_ITERATIONS = NUMBER_OF_MUTEXES * 100;
+
+	private ConcurrentHashMapXMutexFactory<String> mutexFactory = new ConcurrentHashMapXMutexFactory<>();
+
+	@Test
+	void sameMutexForEqualKeys() {
+		// Act
+		XMutex<String> firstMutex = mutexFactory.getMutex(new String("key"));
+		XMutex<String> secondMutex = mutexFactory.getMutex(new String("key"));
+		// Assert
+		assertThat(firstMutex).isSameAs(secondMutex);
+		assertThat(firstMutex.getKey()).isEqualTo("key");
+		assertThat(mutexFactory.size()).isEqualTo(1);
+	}
+
+	@Test
+	void differentMutexesForDifferentKeys() {
+		// Act
+		XMutex<String> firstMutex = mutexFactory.getMutex("first");
+		XMutex<String> secondMutex = mutexFactory.getMutex("second");
+		// Assert
+		assertThat(firstMutex).isNotSameAs(secondMutex);
+		assertThat(mutexFactory.size()).isEqualTo(2);
+	}
+
+	@Test
+	void removeMutexAfterGc() {
+		// Arrange
+		XMutex<String> mutex = mutexFactory.getMutex("key");
+		long firstId = mutex.getId();
+		mutex = null;
+		// Act
+		GcUtils.tryToAllocateAllAvailableMemory();
+		GcUtils.fullFinalization();
+		mutexFactory.purgeUnreferenced();
+		// Assert
+		await().atMost(5, TimeUnit.SECONDS)
+		       .until(mutexFactory::size, equalTo(0L));
+
+		XMutex<String> secondMutex = mutexFactory.getMutex("key");
+		assertThat(mutexFactory.size()).isEqualTo(1L);
+		assertThat(secondMutex.getId()).isNotEqualTo(firstId);
+	}
+
+	@Test
+	void collectedMutexesArePurgedByCreationOfNewOnes() {
+		// Arrange
+		IntStream.range(0, 1000).forEach(i -> mutexFactory.getMutex("key-" + i));
+		// Act
+		GcUtils.tryToAllocateAllAvailableMemory();
+		GcUtils.fullFinalization();
+		// Assert
+		await().atMost(5, TimeUnit.SECONDS)
+		       .until(() -> {
+			       mutexFactory.getMutex("new-key");
+			       return mutexFactory.size();
+		       }, equalTo(1L));
+	}
+
+	@Test
+	@Timeout(value = TIMEOUT_FOR_PREVENTION_OF_DEADLOCK, unit = TimeUnit.MILLISECONDS)
+	void concurrency() {
+		// Arrange
+		Set<XMutex<String>> results = ConcurrentSet.getInstance();
+		// Act
+		IntStream.range(0, NUMBER_OF_ITERATIONS)
+		         .parallel()
+		         .forEach(i -> results.add(mutexFactory.getMutex(String.valueOf(i % NUMBER_OF_MUTEXES))));
+		// Assert
+		assertThat(results).hasSize(NUMBER_OF_MUTEXES);
+		assertThat(mutexFactory.size()).isEqualTo(NUMBER_OF_MUTEXES);
+		List<String> keys = results.stream()
+		                           .map(XMutex::getKey)
+		                           .distinct()
+		                           .collect(toList());
+		assertThat(keys).hasSize(NUMBER_OF_MUTEXES);
+	}
+
+	@Test
+	void synchronizationOfXSync() {
+		// Arrange
+		XSync<String> xsync = new XSync<>(mutexFactory);
+		NonAtomicInt counter = new NonAtomicInt(0);
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(100_000)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> xsync.execute(new String("key"), counter::increment));
+		// Assert
+		assertThat(counter.getValue()).isEqualTo(100_000);
+	}
+
+	@Test
+	void nullKey() {
+		assertThatThrownBy(() -> mutexFactory.getMutex(null)).isInstanceOf(NullPointerException.class);
+	}
+}
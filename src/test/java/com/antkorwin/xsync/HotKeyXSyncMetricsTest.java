@@ -0,0 +1,157 @@
+package com.antkorwin.xsync;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * tracking of the top contended keys
+ *
+ * @author Korovin Anatoliy
+ */
+class HotKeyXSyncMetricsTest {
+
+	@Test
+	void uncontendedAcquisitionsAreIgnored() {
+		// Arrange
+		HotKeyXSyncMetrics metrics = new HotKeyXSyncMetrics();
+		// Act
+		metrics.acquired("key", null, 0, false);
+		// Assert
+		assertThat(metrics.topContendedKeys(10)).isEmpty();
+	}
+
+	@Test
+	void orderByCount() {
+		// Arrange
+		HotKeyXSyncMetrics metrics = new HotKeyXSyncMetrics();
+		// Act
+		contended(metrics, "a", 3);
+		contended(metrics, "b", 5);
+		contended(metrics, "c", 1);
+		// Assert
+		assertThat(metrics.topContendedKeys(10)).extracting(HotKeyXSyncMetrics.HotKey::getKey)
+		                                        .containsExactly("b", "a", "c");
+		assertThat(metrics.topContendedKeys(10)).extracting(HotKeyXSyncMetrics.HotKey::getCount)
+		                                        .containsExactly(5L, 3L, 1L);
+		assertThat(metrics.topContendedKeys(2)).hasSize(2);
+	}
+
+	@Test
+	void countAllKeysOfMultiKeyCall() {
+		// Arrange
+		HotKeyXSyncMetrics metrics = new HotKeyXSyncMetrics();
+		// Act
+		metrics.acquired(Arrays.asList("a", "b"), null, 100, true);
+		// Assert
+		assertThat(metrics.topContendedKeys(10)).extracting(HotKeyXSyncMetrics.HotKey::getKey)
+		                                        .containsExactlyInAnyOrder("a", "b");
+	}
+
+	@Test
+	void findWhalesAmongManyKeys() {
+		// Arrange
+		HotKeyXSyncMetrics metrics = new HotKeyXSyncMetrics(16);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		// Act
+		for (int i = 0; i < 200_000; i++) {
+			if (i % 10 == 0) {
+				contended(metrics, "whale-" + random.nextInt(3), 1);
+			} else {
+				contended(metrics, random.nextLong(), 1);
+			}
+		}
+		// Assert
+		List<HotKeyXSyncMetrics.HotKey> top = metrics.topContendedKeys(3);
+		assertThat(top).extracting(HotKeyXSyncMetrics.HotKey::getKey)
+		               .containsExactlyInAnyOrder("whale-0", "whale-1", "whale-2");
+		assertThat(top.get(2).getCount()).isGreaterThanOrEqualTo(6000);
+		assertThat(metrics.topContendedKeys(100)).hasSize(16);
+	}
+
+	@Test
+	void concurrentRecording() {
+		// Arrange
+		HotKeyXSyncMetrics metrics = new HotKeyXSyncMetrics(8);
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(100_000)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> {
+			                int key = ThreadLocalRandom.current().nextInt(100);
+			                contended(metrics, key < 50 ? "hot" : "cold-" + key, 1);
+		                });
+		// Assert
+		List<HotKeyXSyncMetrics.HotKey> top = metrics.topContendedKeys(8);
+		assertThat(top.get(0).getKey()).isEqualTo("hot");
+		assertThat(top.get(0).getCount()).isGreaterThan(45_000);
+		assertThat(top.stream().map(HotKeyXSyncMetrics.HotKey::getKey).collect(Collectors.toSet())).hasSameSizeAs(top);
+	}
+
+	@Test
+	void contendedKeysOfXSync() throws Exception {
+		// Arrange
+		HotKeyXSyncMetrics metrics = new HotKeyXSyncMetrics();
+		XSync<String> xsync = new XSync<>(new XMutexFactoryImpl<>(), metrics);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch unlock = new CountDownLatch(1);
+		try {
+			executor.submit(() -> xsync.execute(new String("whale"), () -> {
+				locked.countDown();
+				await(unlock);
+			}));
+			locked.await();
+			// Act
+			Future<?> waiting = executor.submit(() -> xsync.execute(new String("whale"), () -> { }));
+			ThreadSleep.wait(1);
+			unlock.countDown();
+			waiting.get();
+			xsync.execute("shrimp", () -> { });
+		} finally {
+			unlock.countDown();
+			executor.shutdown();
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		}
+		// Assert
+		assertThat(metrics.topContendedKeys(10)).extracting(HotKeyXSyncMetrics.HotKey::getKey)
+		                                        .containsExactly("whale");
+	}
+
+	@Test
+	void wrongCapacity() {
+		assertThatThrownBy(() -> new HotKeyXSyncMetrics(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void contended(HotKeyXSyncMetrics metrics, Object key, int times) {
+		for (int i = 0; i < times; i++) {
+			metrics.acquired(key, null, 100, true);
+		}
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
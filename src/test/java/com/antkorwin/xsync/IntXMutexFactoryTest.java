@@ -0,0 +1,66 @@
+package com.antkorwin.xsync;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.antkorwin.commonutils.concurrent.ConcurrentSet;
+import com.antkorwin.commonutils.gc.GcUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Created on 16/10/2026
+ *
+ * @author Korovin Anatoliy
+ */
+class IntXMutexFactoryTest {
+
+	private static final int NUMBER_OF_MUTEXES = 100_000;
+
+	private IntXMutexFactory mutexFactory = new IntXMutexFactory();
+
+	@Test
+	void sameMutexForSameValue() {
+		// Act
+		XMutex<Integer> firstMutex = mutexFactory.getMutex(100_500);
+		XMutex<Integer> secondMutex = mutexFactory.getMutex(100_500);
+		XMutex<Integer> boxedMutex = mutexFactory.getMutex(Integer.valueOf(100_500));
+		XMutex<Integer> otherMutex = mutexFactory.getMutex(100_501);
+		// Assert
+		assertThat(firstMutex).isSameAs(secondMutex);
+		assertThat(firstMutex).isSameAs(boxedMutex);
+		assertThat(firstMutex).isNotSameAs(otherMutex);
+		assertThat(mutexFactory.size()).isEqualTo(2);
+	}
+
+	@Test
+	void removeMutexAfterGc() {
+		// Arrange
+		XMutex<Integer> mutex = mutexFactory.getMutex(123);
+		mutex = null;
+		// Act
+		GcUtils.tryToAllocateAllAvailableMemory();
+		GcUtils.fullFinalization();
+		mutexFactory.purgeUnreferenced();
+		// Assert
+		await().atMost(5, TimeUnit.SECONDS)
+		       .until(mutexFactory::size, equalTo(0L));
+	}
+
+	@Test
+	void concurrency() {
+		// Arrange
+		Set<XMutex<Integer>> results = ConcurrentSet.getInstance();
+		// Act
+		IntStream.range(0, NUMBER_OF_MUTEXES * 10)
+		         .parallel()
+		         .forEach(i -> results.add(mutexFactory.getMutex(i % NUMBER_OF_MUTEXES)));
+		// Assert
+		assertThat(results).hasSize(NUMBER_OF_MUTEXES);
+		assertThat(mutexFactory.size()).isEqualTo(NUMBER_OF_MUTEXES);
+	}
+}
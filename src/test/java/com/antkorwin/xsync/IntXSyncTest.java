@@ -0,0 +1,52 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.antkorwin.commonutils.concurrent.NonAtomicInt;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created on 16/10/2026
+ *
+ * @author Korovin Anatoliy
+ */
+class IntXSyncTest {
+
+	private static final int TIMEOUT_FOR_PREVENTION_OF_DEADLOCK = 30_000;
+	private static final int ITERATIONS = 1_000_000;
+
+	private IntXSync xsync = new IntXSync();
+
+	@Test
+	@Timeout(value = TIMEOUT_FOR_PREVENTION_OF_DEADLOCK, unit = TimeUnit.MILLISECONDS)
+	void executeByPrimitiveKey() {
+		// Arrange
+		NonAtomicInt var = new NonAtomicInt(0);
+		// Act
+		IntStream.range(0, ITERATIONS)
+		         .parallel()
+		         .forEach(i -> xsync.execute(100_500, var::increment));
+		// Assert
+		assertThat(var.getValue()).isEqualTo(ITERATIONS);
+	}
+
+	@Test
+	@Timeout(value = TIMEOUT_FOR_PREVENTION_OF_DEADLOCK, unit = TimeUnit.MILLISECONDS)
+	void evaluateByPrimitiveKey() {
+		// Arrange
+		NonAtomicInt var = new NonAtomicInt(0);
+		// Act
+		int max = IntStream.range(0, ITERATIONS)
+		                   .parallel()
+		                   .map(i -> xsync.evaluate(100_500, var::increment))
+		                   .max()
+		                   .getAsInt();
+		// Assert
+		assertThat(var.getValue()).isEqualTo(ITERATIONS);
+		assertThat(max).isEqualTo(ITERATIONS);
+	}
+}
@@ -0,0 +1,84 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.TimeUnit;
+
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * lock-free log-linear histogram
+ *
+ * @author Korovin Anatoliy
+ */
+class LogLinearHistogramTest {
+
+	@Test
+	void emptyHistogram() {
+		LogLinearHistogram histogram = new LogLinearHistogram();
+		assertThat(histogram.getCount()).isEqualTo(0);
+		assertThat(histogram.getValueAtPercentile(99)).isEqualTo(0);
+	}
+
+	@Test
+	void bucketBounds() {
+		for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789L, Long.MAX_VALUE}) {
+			int bucket = LogLinearHistogram.bucketOf(value);
+			assertThat(LogLinearHistogram.upperBoundOf(bucket)).isGreaterThanOrEqualTo(value);
+			if (bucket > 0) {
+				assertThat(LogLinearHistogram.upperBoundOf(bucket - 1)).isLessThan(value);
+			}
+		}
+	}
+
+	@Test
+	void percentilesWithinRelativeError() {
+		// Arrange
+		LogLinearHistogram histogram = new LogLinearHistogram();
+		// Act
+		for (long value = 1; value <= 100_000; value++) {
+			histogram.record(value * 1000);
+		}
+		// Assert
+		assertThat(histogram.getCount()).isEqualTo(100_000);
+		assertThat(histogram.getMax()).isEqualTo(100_000_000);
+		assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(50_000_000, within(50_000_000 / 16.0));
+		assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(99_000_000, within(99_000_000 / 16.0));
+		assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100_000_000);
+	}
+
+	@Test
+	void negativeValuesAreZero() {
+		LogLinearHistogram histogram = new LogLinearHistogram();
+		histogram.record(-5);
+		assertThat(histogram.getValueAtPercentile(100)).isEqualTo(0);
+	}
+
+	@Test
+	void wrongPercentile() {
+		assertThatThrownBy(() -> new LogLinearHistogram().getValueAtPercentile(101))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void concurrentRecording() {
+		// Arrange
+		LogLinearHistogram histogram = new LogLinearHistogram();
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(100_000)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> histogram.record(42));
+		// Assert
+		assertThat(histogram.getCount()).isEqualTo(100_000);
+		assertThat(histogram.getValueAtPercentile(50)).isEqualTo(42);
+	}
+}
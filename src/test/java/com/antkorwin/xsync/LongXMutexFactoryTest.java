@@ -0,0 +1,93 @@
+package com.antkorwin.xsync;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.antkorwin.commonutils.concurrent.ConcurrentSet;
+import com.antkorwin.commonutils.gc.GcUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Created on 16/10/2026
+ *
+ * @author Korovin Anatoliy
+ */
+class LongXMutexFactoryTest {
+
+	private static final int TIMEOUT_FOR_PREVENTION_OF_DEADLOCK = 30000;
+	private static final int NUMBER_OF_MUTEXES = 100_000;
+	private static final int NUMBER_OF_ITERATIONS = NUMBER_OF_MUTEXES * 100;
+
+	private LongXMutexFactory mutexFactory = new LongXMutexFactory();
+
+	@Test
+	void sameMutexForSameValue() {
+		// Act
+		XMutex<Long> firstMutex = mutexFactory.getMutex(100_500L);
+		XMutex<Long> secondMutex = mutexFactory.getMutex(100_500L);
+		XMutex<Long> boxedMutex = mutexFactory.getMutex(Long.valueOf(100_500L));
+		// Assert
+		assertThat(firstMutex).isSameAs(secondMutex);
+		assertThat(firstMutex).isSameAs(boxedMutex);
+		assertThat(firstMutex.getKey()).isEqualTo(100_500L);
+		assertThat(mutexFactory.size()).isEqualTo(1);
+	}
+
+	@Test
+	void differentMutexesForDifferentValues() {
+		// Act
+		XMutex<Long> firstMutex = mutexFactory.getMutex(1L);
+		XMutex<Long> secondMutex = mutexFactory.getMutex(2L);
+		XMutex<Long> negativeMutex = mutexFactory.getMutex(-1L);
+		// Assert
+		assertThat(firstMutex).isNotSameAs(secondMutex);
+		assertThat(firstMutex).isNotSameAs(negativeMutex);
+		assertThat(mutexFactory.size()).isEqualTo(3);
+	}
+
+	@Test
+	void removeMutexAfterGc() {
+		// Arrange
+		XMutex<Long> mutex = mutexFactory.getMutex(123L);
+		int firstHashCode = System.identityHashCode(mutex);
+		mutex = null;
+		// Act
+		GcUtils.tryToAllocateAllAvailableMemory();
+		GcUtils.fullFinalization();
+		mutexFactory.purgeUnreferenced();
+		// Assert
+		await().atMost(5, TimeUnit.SECONDS)
+		       .until(mutexFactory::size, equalTo(0L));
+
+		XMutex<Long> secondMutex = mutexFactory.getMutex(123L);
+		assertThat(mutexFactory.size()).isEqualTo(1L);
+		assertThat(System.identityHashCode(secondMutex)).isNotEqualTo(firstHashCode);
+	}
+
+	@Test
+	@Timeout(value = TIMEOUT_FOR_PREVENTION_OF_DEADLOCK, unit = TimeUnit.MILLISECONDS)
+	void concurrency() {
+		// Arrange
+		Set<XMutex<Long>> results = ConcurrentSet.getInstance();
+		// Act
+		IntStream.range(0, NUMBER_OF_ITERATIONS)
+		         .parallel()
+		         .forEach(i -> results.add(mutexFactory.getMutex((long) i % NUMBER_OF_MUTEXES)));
+		// Assert
+		assertThat(results).hasSize(NUMBER_OF_MUTEXES);
+		assertThat(mutexFactory.size()).isEqualTo(NUMBER_OF_MUTEXES);
+		List<Long> keys = results.stream()
+		                         .map(XMutex::getKey)
+		                         .distinct()
+		                         .collect(toList());
+		assertThat(keys).hasSize(NUMBER_OF_MUTEXES);
+	}
+}
@@ -0,0 +1,200 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import org.hibernate.validator.internal.util.ConcurrentReferenceHashMap.ReferenceType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * Retained bytes per live mutex of factories, measured by JOL
+ * on the graph of objects reachable from a factory with live mutexes.
+ * <p>
+ * The budget is the overhead of a factory without the key itself,
+ * it's checked for the 64-bit JVM with compressed references.
+ * Budgets of the weak-map are derived from the measurements of XSync 1.5,
+ * where a mutex was a plain object of 16 bytes, plus the cost of the lock in a mutex,
+ * so a new field of a mutex or an entry goes over the budget.
+ * If a change of XSync goes over the budget, then it should be a conscious change
+ * with new numbers in this test.
+ *
+ * @author Korovin Anatoliy
+ */
+class MemoryFootprintTest {
+
+	private static final int KEYS_COUNT = 10_000;
+
+	/**
+	 * bytes per live key of XMutexFactoryImpl in XSync 1.5, without the key
+	 */
+	private static final int BASELINE_STRONG_MAP = 54;
+	private static final int BASELINE_WEAK_MAP = 126;
+	private static final int BASELINE_SOFT_MAP = 142;
+	private static final int BASELINE_MUTEX = 16;
+
+	/**
+	 * a mutex is a ReentrantLock for timeouts: the state of the lock (32 bytes)
+	 * and the reference to it (4 bytes), the id of the locking order (8 bytes)
+	 * and the reference to the state of optional features (4 bytes)
+	 */
+	private static final int LOCK_BYTES = 48;
+
+	/**
+	 * less than a new reference field, which takes 8 bytes with the alignment
+	 */
+	private static final int MARGIN = 4;
+
+	private static final int STRONG_MAP_BUDGET = BASELINE_STRONG_MAP + LOCK_BYTES + MARGIN;
+	private static final int WEAK_MAP_BUDGET = BASELINE_WEAK_MAP + LOCK_BYTES + MARGIN;
+	private static final int SOFT_MAP_BUDGET = BASELINE_SOFT_MAP + LOCK_BYTES + MARGIN;
+
+	/**
+	 * the mutex with its lock (64 bytes), the weak reference to it (32 bytes)
+	 * and two slots of the table (8 bytes) per key at the load factor of the table
+	 */
+	private static final int COMPACT_BUDGET = BASELINE_MUTEX + LOCK_BYTES + 32 + 12 + MARGIN;
+
+	@BeforeAll
+	static void compressedReferences() {
+		assumeTrue(VM.current().sizeOfField("oop") == 4, "budgets are set for compressed references");
+	}
+
+	static Stream<Arguments> referenceTypesAndKeys() {
+		List<Arguments> arguments = new ArrayList<>();
+		for (ReferenceType referenceType : ReferenceType.values()) {
+			for (KeyType keyType : KeyType.values()) {
+				arguments.add(Arguments.of(referenceType, keyType));
+			}
+		}
+		return arguments.stream();
+	}
+
+	@ParameterizedTest(name = "{0} references, {1} keys")
+	@MethodSource("referenceTypesAndKeys")
+	void defaultFactory(ReferenceType referenceType, KeyType keyType) {
+		// Arrange
+		XMutexFactoryImpl<Object> factory = new XMutexFactoryImpl<>(16, referenceType);
+		// Act
+		Footprint footprint = measure(factory, keyType);
+		// Assert
+		report("XMutexFactoryImpl " + referenceType, keyType, footprint);
+		assertThat(footprint.overheadPerKey()).isLessThanOrEqualTo(budgetOf(referenceType));
+	}
+
+	@ParameterizedTest(name = "{0} keys")
+	@MethodSource("keyTypes")
+	void compactFactory(KeyType keyType) {
+		// Arrange
+		CompactXMutexFactory<Object> factory = new CompactXMutexFactory<>();
+		// Act
+		Footprint footprint = measure(factory, keyType);
+		// Assert
+		report("CompactXMutexFactory", keyType, footprint);
+		assertThat(footprint.overheadPerKey()).isLessThanOrEqualTo(COMPACT_BUDGET);
+	}
+
+	@Test
+	void compactFactoryIsSmallerThanWeakMap() {
+		// Act
+		Footprint weakMap = measure(new XMutexFactoryImpl<>(), KeyType.LONG);
+		Footprint compact = measure(new CompactXMutexFactory<>(), KeyType.LONG);
+		// Assert
+		assertThat(compact.overheadPerKey()).isLessThan(weakMap.overheadPerKey())
+		                                     .isLessThan(BASELINE_WEAK_MAP);
+	}
+
+	@Test
+	void mutexWithoutFeatures() {
+		// Arrange
+		XMutex<Object> mutex = new XMutex<>(null);
+		// Act
+		long bytes = GraphLayout.parseInstance(mutex).totalSize();
+		// Assert
+		assertThat(bytes).isLessThanOrEqualTo(BASELINE_MUTEX + LOCK_BYTES);
+	}
+
+	static Stream<KeyType> keyTypes() {
+		return Stream.of(KeyType.values());
+	}
+
+	private static int budgetOf(ReferenceType referenceType) {
+		switch (referenceType) {
+			case STRONG:
+				return STRONG_MAP_BUDGET;
+			case SOFT:
+				return SOFT_MAP_BUDGET;
+			default:
+				return WEAK_MAP_BUDGET;
+		}
+	}
+
+	/**
+	 * Fill the factory by live mutexes and measure all objects
+	 * which are reachable from the factory.
+	 */
+	private Footprint measure(XMutexFactory<Object> factory, KeyType keyType) {
+		Object[] keys = new Object[KEYS_COUNT];
+		List<XMutex<Object>> liveMutexes = new ArrayList<>(KEYS_COUNT);
+		for (int i = 0; i < KEYS_COUNT; i++) {
+			keys[i] = keyType.generator.apply(i);
+			liveMutexes.add(factory.getMutex(keys[i]));
+		}
+		assertThat(factory.size()).isEqualTo(KEYS_COUNT);
+
+		long factoryBytes = GraphLayout.parseInstance(factory).totalSize();
+		long keysBytes = GraphLayout.parseInstance((Object) keys).totalSize() - VM.current().sizeOf(keys);
+		assertThat(liveMutexes).hasSize(KEYS_COUNT);
+		return new Footprint(factoryBytes, keysBytes);
+	}
+
+	private void report(String factory, KeyType keyType, Footprint footprint) {
+		System.out.printf("%-28s %-6s keys: %4d bytes per live mutex, %4d bytes without the key%n",
+		                  factory, keyType, footprint.totalPerKey(), footprint.overheadPerKey());
+	}
+
+	enum KeyType {
+		// values out of the cache of Long.valueOf
+		LONG(i -> 1_000_000_000L + i),
+		STRING(i -> "user-" + i),
+		UUID(i -> new UUID(i, ~i));
+
+		private final IntFunction<Object> generator;
+
+		KeyType(IntFunction<Object> generator) {
+			this.generator = generator;
+		}
+	}
+
+	private static final class Footprint {
+
+		private final long factoryBytes;
+		private final long keysBytes;
+
+		Footprint(long factoryBytes, long keysBytes) {
+			this.factoryBytes = factoryBytes;
+			this.keysBytes = keysBytes;
+		}
+
+		long totalPerKey() {
+			return factoryBytes / KEYS_COUNT;
+		}
+
+		long overheadPerKey() {
+			return (factoryBytes - keysBytes) / KEYS_COUNT;
+		}
+	}
+}
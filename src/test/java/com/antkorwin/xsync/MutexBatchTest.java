@@ -0,0 +1,132 @@
+package com.antkorwin.xsync;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * sorted batches of mutexes for the multi-key synchronization
+ *
+ * @author Korovin Anatoliy
+ */
+class MutexBatchTest {
+
+	private XMutexFactory<Long> factory = new XMutexFactoryImpl<>();
+	private MutexSorter<Long> sorter = new MutexSorter<>(factory);
+
+	@Test
+	void sortedByLockOrder() {
+		// Arrange
+		List<Long> keys = LongStream.range(0, 100).boxed().collect(Collectors.toList());
+		// Act
+		MutexBatch<Long> batch = sorter.getOrderedBatch(keys);
+		// Assert
+		try {
+			assertThat(batch.size()).isEqualTo(100);
+			for (int i = 1; i < batch.size(); i++) {
+				assertThat(batch.get(i - 1).getId()).isLessThan(batch.get(i).getId());
+			}
+		} finally {
+			batch.close(factory);
+		}
+	}
+
+	@Test
+	void duplicatesAreRemoved() {
+		// Act
+		MutexBatch<Long> batch = sorter.getOrderedBatch(Arrays.asList(1L, 2L, 1L, 2L, 3L));
+		// Assert
+		try {
+			assertThat(batch.size()).isEqualTo(3);
+		} finally {
+			batch.close(factory);
+		}
+	}
+
+	@Test
+	void exclusiveDuplicateWins() {
+		// Arrange
+		MutexBatch<Long> batch = sorter.getOrderedBatch(Arrays.asList(1L, 2L), Arrays.asList(2L));
+		XMutex<Long> mutex = factory.getMutex(2L);
+		// Act
+		batch.lockAllReadWrite(false);
+		// Assert
+		try {
+			assertThat(batch.size()).isEqualTo(2);
+			assertThat(mutex.getReadWriteLock(false).isWriteLockedByCurrentThread()).isTrue();
+			assertThat(factory.getMutex(1L).getReadWriteLock(false).getReadHoldCount()).isEqualTo(1);
+		} finally {
+			batch.close(factory);
+		}
+		assertThat(mutex.getReadWriteLock(false).isWriteLocked()).isFalse();
+	}
+
+	@Test
+	void closeReleasesAllObtainedMutexes() {
+		// Arrange
+		RefCountedXMutexFactory<Long> refCountedFactory = new RefCountedXMutexFactory<>();
+		MutexSorter<Long> refCountedSorter = new MutexSorter<>(refCountedFactory);
+		MutexBatch<Long> batch = refCountedSorter.getOrderedBatch(Arrays.asList(1L, 2L, 1L, 1L));
+		batch.lockAll();
+		// Act
+		batch.close(refCountedFactory);
+		// Assert
+		assertThat(refCountedFactory.size()).isEqualTo(0);
+	}
+
+	@Test
+	void cachedBatchIsReusedAndCleared() {
+		// Arrange
+		MutexBatch<Long> first = sorter.getOrderedBatch(Arrays.asList(1L, 2L));
+		first.close(factory);
+		// Act
+		MutexBatch<Long> second = sorter.getOrderedBatch(Arrays.asList(3L));
+		// Assert
+		try {
+			assertThat(second).isSameAs(first);
+			assertThat(second.size()).isEqualTo(1);
+			assertThat(second.get(0).getKey()).isEqualTo(3L);
+		} finally {
+			second.close(factory);
+		}
+	}
+
+	@Test
+	void nestedBatchesDoNotShareArrays() {
+		// Arrange
+		MutexBatch<Long> outer = sorter.getOrderedBatch(Arrays.asList(1L, 2L));
+		// Act
+		MutexBatch<Long> inner = sorter.getOrderedBatch(Arrays.asList(3L, 4L));
+		// Assert
+		assertThat(inner).isNotSameAs(outer);
+		assertThat(outer.size()).isEqualTo(2);
+		inner.close(factory);
+		outer.close(factory);
+	}
+
+	@Test
+	void lockLargeKeySet() {
+		// Arrange
+		XSync<Long> xsync = new XSync<>();
+		List<Long> keys = LongStream.range(0, 10_000).boxed().collect(Collectors.toList());
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(4)
+		                .iterations(100)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> xsync.execute(keys, () -> { }));
+		// Assert
+		assertThat(xsync.evaluate(keys, () -> "done")).isEqualTo("done");
+	}
+}
@@ -0,0 +1,129 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * the locking order of mutexes by their ids
+ *
+ * @author Korovin Anatoliy
+ */
+class MutexSorterTest {
+
+	private XMutexFactory<Integer> factory = new XMutexFactoryImpl<>();
+	private MutexSorter<Integer> sorter = new MutexSorter<>(factory);
+
+	@Test
+	void obtainMutexesByKeys() {
+		// Arrange
+		XMutex<Integer> m1 = factory.getMutex(1);
+		XMutex<Integer> m2 = factory.getMutex(2);
+		XMutex<Integer> m3 = factory.getMutex(3);
+		// Act
+		List<XMutex<Integer>> mutexes = orderedMutexes(Arrays.asList(1, 2, 3));
+		// Assert
+		assertThat(mutexes).contains(m1, m2, m3);
+	}
+
+	@Test
+	void orderingIndependentOfSequence() {
+		// Arrange
+		XMutex<Integer> m1 = factory.getMutex(1);
+		XMutex<Integer> m2 = factory.getMutex(2);
+		XMutex<Integer> m3 = factory.getMutex(3);
+		// Act
+		List<XMutex<Integer>> asc = orderedMutexes(Arrays.asList(1, 2, 3));
+		List<XMutex<Integer>> desc = orderedMutexes(Arrays.asList(3, 2, 1));
+		// Assert
+		assertThat(asc).containsExactlyElementsOf(desc);
+	}
+
+	@Test
+	void orderedByIds() {
+		// Arrange
+		XMutex<Integer> m3 = factory.getMutex(3);
+		XMutex<Integer> m1 = factory.getMutex(1);
+		XMutex<Integer> m2 = factory.getMutex(2);
+		// ids are assigned on the first use
+		Arrays.asList(m3, m1, m2).forEach(XMutex::getId);
+		// Act
+		List<XMutex<Integer>> mutexes = orderedMutexes(Arrays.asList(1, 2, 3));
+		// Assert
+		assertThat(mutexes).containsExactly(m3, m1, m2);
+	}
+
+	@Test
+	void compareDifferentMutexes() {
+		// Arrange
+		XMutex<Integer> first = factory.getMutex(1);
+		XMutex<Integer> second = factory.getMutex(2);
+		// Act & Assert
+		assertThat(sorter.compare(first, second)).isNegative();
+		assertThat(sorter.compare(second, first)).isPositive();
+		assertThat(sorter.compare(first, factory.getMutex(1))).isZero();
+	}
+
+	@Test
+	void smallKeySetsAreObtainedOneByOne() {
+		// Arrange
+		BulkCountingFactory countingFactory = new BulkCountingFactory();
+		MutexSorter<Integer> countingSorter = new MutexSorter<>(countingFactory);
+		List<Integer> keys = IntStream.range(0, MutexBatch.SMALL_SIZE).boxed().collect(toList());
+		// Act
+		MutexBatch<Integer> batch = countingSorter.getOrderedBatch(keys);
+		int size = batch.size();
+		batch.close(countingFactory);
+		// Assert
+		assertThat(size).isEqualTo(MutexBatch.SMALL_SIZE);
+		assertThat(countingFactory.bulkCalls).isEqualTo(0);
+	}
+
+	@Test
+	void largeKeySetsAreObtainedAtOnce() {
+		// Arrange
+		BulkCountingFactory countingFactory = new BulkCountingFactory();
+		MutexSorter<Integer> countingSorter = new MutexSorter<>(countingFactory);
+		List<Integer> keys = IntStream.range(0, MutexBatch.SMALL_SIZE + 1).boxed().collect(toList());
+		// Act
+		MutexBatch<Integer> batch = countingSorter.getOrderedBatch(keys);
+		int size = batch.size();
+		batch.close(countingFactory);
+		// Assert
+		assertThat(size).isEqualTo(MutexBatch.SMALL_SIZE + 1);
+		assertThat(countingFactory.bulkCalls).isEqualTo(1);
+	}
+
+	private List<XMutex<Integer>> orderedMutexes(List<Integer> keys) {
+		MutexBatch<Integer> batch = sorter.getOrderedBatch(keys);
+		try {
+			List<XMutex<Integer>> mutexes = new ArrayList<>();
+			for (int i = 0; i < batch.size(); i++) {
+				mutexes.add(batch.get(i));
+			}
+			return mutexes;
+		} finally {
+			batch.close(factory);
+		}
+	}
+
+	private static class BulkCountingFactory extends XMutexFactoryImpl<Integer> {
+
+		private int bulkCalls;
+
+		@Override
+		public List<XMutex<Integer>> getMutexes(Collection<Integer> keys) {
+			bulkCalls++;
+			return super.getMutexes(keys);
+		}
+	}
+}
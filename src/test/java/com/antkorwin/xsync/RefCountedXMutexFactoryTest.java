@@ -0,0 +1,149 @@
+package com.antkorwin.xsync;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.antkorwin.commonutils.concurrent.NonAtomicInt;
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 16/10/2026
+ *
+ * @author Korovin Anatoliy
+ */
+class RefCountedXMutexFactoryTest {
+
+	private static final int ITERATIONS = 100_000;
+
+	private RefCountedXMutexFactory<String> factory = new RefCountedXMutexFactory<>();
+
+	@Test
+	void sameMutexWhileInUse() {
+		// Act
+		XMutex<String> first = factory.getMutex(new String("key"));
+		XMutex<String> second = factory.getMutex(new String("key"));
+		// Assert
+		assertThat(first).isSameAs(second);
+		assertThat(factory.size()).isEqualTo(1);
+	}
+
+	@Test
+	void getMutexesCountsEveryKey() {
+		// Act
+		List<XMutex<String>> mutexes = factory.getMutexes(Arrays.asList("first", "second", new String("first")));
+		// Assert
+		assertThat(mutexes.get(0)).isSameAs(mutexes.get(2));
+		assertThat(factory.size()).isEqualTo(2);
+		mutexes.forEach(factory::release);
+		assertThat(factory.size()).isEqualTo(0);
+	}
+
+	@Test
+	void removeMutexAfterLastRelease() {
+		// Arrange
+		XMutex<String> first = factory.getMutex("key");
+		XMutex<String> second = factory.getMutex("key");
+		// Act
+		factory.release(first);
+		long sizeAfterFirstRelease = factory.size();
+		factory.release(second);
+		// Assert
+		assertThat(sizeAfterFirstRelease).isEqualTo(1);
+		assertThat(factory.size()).isEqualTo(0);
+		assertThat(factory.getMutex("key")).isNotSameAs(first);
+	}
+
+	@Test
+	void xSyncReleasesMutexes() {
+		// Arrange
+		XSync<String> xsync = new XSync<>(factory);
+		// Act
+		xsync.execute("first", () -> assertThat(factory.size()).isEqualTo(1));
+		xsync.execute("first", "second", () -> assertThat(factory.size()).isEqualTo(2));
+		xsync.execute(Arrays.asList("a", "b", "a", "c"), () -> assertThat(factory.size()).isEqualTo(3));
+		// Assert
+		assertThat(factory.size()).isEqualTo(0);
+	}
+
+	@Test
+	void releaseAfterException() {
+		// Arrange
+		XSync<String> xsync = new XSync<>(factory);
+		// Act
+		assertThatThrownBy(() -> xsync.evaluate("key", () -> {
+			throw new IllegalStateException();
+		})).isInstanceOf(IllegalStateException.class);
+		// Assert
+		assertThat(factory.size()).isEqualTo(0);
+	}
+
+	@Test
+	void sizeTracksKeysInUse() throws InterruptedException {
+		// Arrange
+		XSync<String> xsync = new XSync<>(factory);
+		CountDownLatch started = new CountDownLatch(2);
+		CountDownLatch finish = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		// Act
+		for (String key : Arrays.asList("first", "second")) {
+			executor.submit(() -> xsync.execute(key, () -> {
+				started.countDown();
+				await(finish);
+			}));
+		}
+		started.await(5, TimeUnit.SECONDS);
+		long sizeInUse = factory.size();
+		finish.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+		// Assert
+		assertThat(sizeInUse).isEqualTo(2);
+		assertThat(factory.size()).isEqualTo(0);
+	}
+
+	@Test
+	void concurrency() {
+		// Arrange
+		RefCountedXMutexFactory<Long> longFactory = new RefCountedXMutexFactory<>();
+		XSync<Long> xsync = new XSync<>(longFactory);
+		NonAtomicInt var = new NonAtomicInt(0);
+		AtomicLong counter = new AtomicLong();
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(ITERATIONS)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> {
+			                // alternate between the hot key and fresh keys
+			                long iteration = counter.incrementAndGet();
+			                long key = iteration % 2 == 0 ? 1L : iteration + 1;
+			                xsync.execute(key, () -> {
+				                if (key == 1L) {
+					                var.increment();
+				                }
+			                });
+		                });
+		// Assert
+		assertThat(var.getValue()).isEqualTo(ITERATIONS / 2);
+		assertThat(longFactory.size()).isEqualTo(0);
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
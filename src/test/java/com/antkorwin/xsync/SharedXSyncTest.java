@@ -0,0 +1,187 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * single-flight evaluation of keys
+ *
+ * @author Korovin Anatoliy
+ */
+class SharedXSyncTest {
+
+	private static final int CALLERS_COUNT = 20;
+
+	private XSync<String> xsync = new XSync<>();
+	private AtomicInteger evaluations = new AtomicInteger();
+	private ExecutorService executor;
+	private CountDownLatch started;
+	private CountDownLatch finish;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(CALLERS_COUNT + 1);
+		started = new CountDownLatch(1);
+		finish = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		finish.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void concurrentCallersShareTheResult() throws Exception {
+		// Arrange
+		Future<String> first = executor.submit(() -> xsync.evaluateShared(new String("key"), this::slowEvaluation));
+		started.await();
+		// Act
+		List<Future<String>> others = new ArrayList<>();
+		for (int i = 0; i < CALLERS_COUNT; i++) {
+			others.add(executor.submit(() -> xsync.evaluateShared(new String("key"), this::slowEvaluation)));
+		}
+		ThreadSleep.wait(1);
+		finish.countDown();
+		// Assert
+		String result = first.get();
+		assertThat(result).isEqualTo("result-1");
+		for (Future<String> other : others) {
+			assertThat(other.get()).isSameAs(result);
+		}
+		assertThat(evaluations.get()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentCallersShareTheException() throws Exception {
+		// Arrange
+		RuntimeException failure = new IllegalStateException("failed");
+		Future<String> first = executor.submit(() -> xsync.evaluateShared("key", () -> {
+			slowEvaluation();
+			throw failure;
+		}));
+		started.await();
+		// Act
+		Future<String> other = executor.submit(() -> xsync.evaluateShared("key", this::slowEvaluation));
+		ThreadSleep.wait(1);
+		finish.countDown();
+		// Assert
+		assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+		assertThatThrownBy(other::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+		assertThat(evaluations.get()).isEqualTo(1);
+	}
+
+	@Test
+	void sequentialCallsEvaluateAgain() {
+		// Arrange
+		finish.countDown();
+		// Act
+		String first = xsync.evaluateShared("key", this::slowEvaluation);
+		String second = xsync.evaluateShared("key", this::slowEvaluation);
+		// Assert
+		assertThat(first).isEqualTo("result-1");
+		assertThat(second).isEqualTo("result-2");
+	}
+
+	@Test
+	void differentKeysAreNotShared() throws Exception {
+		// Arrange
+		Future<String> first = executor.submit(() -> xsync.evaluateShared("first", this::slowEvaluation));
+		started.await();
+		// Act
+		String second = xsync.evaluateShared("second", () -> "second");
+		finish.countDown();
+		// Assert
+		assertThat(second).isEqualTo("second");
+		assertThat(first.get()).isEqualTo("result-1");
+	}
+
+	@Test
+	void differentKeysOfTheSameStripe() throws Exception {
+		// Arrange
+		XSync<String> striped = new XSync<>(new StripedXMutexFactory<>(1));
+		Future<String> first = executor.submit(() -> striped.evaluateShared("first", this::slowEvaluation));
+		started.await();
+		// Act
+		Future<String> second = executor.submit(() -> striped.evaluateShared("second", () -> "second"));
+		ThreadSleep.wait(1);
+		finish.countDown();
+		// Assert
+		assertThat(first.get()).isEqualTo("result-1");
+		assertThat(second.get()).isEqualTo("second");
+	}
+
+	@Test
+	void callersOfAnotherKeyOfTheSameStripeAreShared() throws Exception {
+		// Arrange
+		XSync<String> striped = new XSync<>(new StripedXMutexFactory<>(1));
+		Future<String> first = executor.submit(() -> striped.evaluateShared("first", this::slowEvaluation));
+		started.await();
+		AtomicInteger secondEvaluations = new AtomicInteger();
+		// Act
+		List<Future<String>> seconds = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			seconds.add(executor.submit(() -> striped.evaluateShared(
+					"second", () -> "second-" + secondEvaluations.incrementAndGet())));
+		}
+		ThreadSleep.wait(1);
+		finish.countDown();
+		// Assert
+		assertThat(first.get()).isEqualTo("result-1");
+		for (Future<String> second : seconds) {
+			assertThat(second.get()).isEqualTo("second-1");
+		}
+		assertThat(secondEvaluations).hasValue(1);
+	}
+
+	@Test
+	void nestedCallOfTheSameKey() {
+		// Act
+		String result = xsync.evaluateShared("key", () -> "outer-" + xsync.evaluateShared("key", () -> "inner"));
+		// Assert
+		assertThat(result).isEqualTo("outer-inner");
+	}
+
+	@Test
+	void inFlightStateIsRemovedAfterEvaluation() {
+		// Arrange
+		XMutexFactoryImpl<String> factory = new XMutexFactoryImpl<>();
+		XSync<String> sync = new XSync<>(factory);
+		// Act
+		sync.evaluateShared("key", () -> "result");
+		// Assert
+		XMutex<String> mutex = factory.getMutex("key");
+		SharedEvaluation evaluation = new SharedEvaluation();
+		assertThat(mutex.startSharedEvaluation("key", evaluation)).isNull();
+		mutex.finishSharedEvaluation("key", evaluation);
+	}
+
+	private String slowEvaluation() {
+		int number = evaluations.incrementAndGet();
+		started.countDown();
+		try {
+			finish.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "result-" + number;
+	}
+}
@@ -0,0 +1,96 @@
+package com.antkorwin.xsync;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.antkorwin.commonutils.concurrent.ConcurrentSet;
+import com.antkorwin.commonutils.concurrent.NonAtomicInt;
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 16/10/2026
+ *
+ * @author Korovin Anatoliy
+ */
+class StripedXMutexFactoryTest {
+
+	private static final int ITERATIONS = 100_000;
+
+	@Test
+	void sameMutexForEqualKeys() {
+		// Arrange
+		StripedXMutexFactory<UUID> factory = new StripedXMutexFactory<>(64);
+		UUID id = UUID.randomUUID();
+		// Act
+		XMutex<UUID> first = factory.getMutex(id);
+		XMutex<UUID> second = factory.getMutex(UUID.fromString(id.toString()));
+		// Assert
+		assertThat(first).isSameAs(second);
+	}
+
+	@Test
+	void numberOfStripesIsPowerOfTwo() {
+		assertThat(new StripedXMutexFactory<>(1).size()).isEqualTo(1);
+		assertThat(new StripedXMutexFactory<>(100).size()).isEqualTo(128);
+		assertThat(new StripedXMutexFactory<>(1024).size()).isEqualTo(1024);
+	}
+
+	@Test
+	void wrongNumberOfStripes() {
+		assertThatThrownBy(() -> new StripedXMutexFactory<>(0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void mutexesAreBoundedByStripes() {
+		// Arrange
+		StripedXMutexFactory<Integer> factory = new StripedXMutexFactory<>(16);
+		Set<XMutex<Integer>> mutexes = ConcurrentSet.getInstance();
+		// Act
+		IntStream.range(0, ITERATIONS)
+		         .parallel()
+		         .forEach(i -> mutexes.add(factory.getMutex(i)));
+		// Assert
+		assertThat(mutexes).hasSize(16);
+	}
+
+	@Test
+	void twoKeysOnTheSameStripe() {
+		// Arrange
+		XSync<Long> xsync = new XSync<>(new StripedXMutexFactory<>(1));
+		NonAtomicInt var = new NonAtomicInt(0);
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(ITERATIONS)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> xsync.execute(1L, 2L, var::increment));
+		// Assert
+		assertThat(var.getValue()).isEqualTo(ITERATIONS);
+	}
+
+	@Test
+	void multipleKeysOnTheSameStripes() {
+		// Arrange
+		XSync<Long> xsync = new XSync<>(new StripedXMutexFactory<>(2));
+		NonAtomicInt var = new NonAtomicInt(0);
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(ITERATIONS)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> xsync.execute(Arrays.asList(1L, 2L, 3L, 4L), var::increment));
+		// Assert
+		assertThat(var.getValue()).isEqualTo(ITERATIONS);
+	}
+}
@@ -0,0 +1,159 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * timed and non-blocking synchronization
+ *
+ * @author Korovin Anatoliy
+ */
+class TryExecuteXSyncTest {
+
+	private XSync<String> xsync = new XSync<>();
+	private ExecutorService executor;
+	private CountDownLatch locked;
+	private CountDownLatch unlock;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(2);
+		locked = new CountDownLatch(1);
+		unlock = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		unlock.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void executeWhenKeyIsFree() {
+		// Arrange
+		AtomicBoolean executed = new AtomicBoolean();
+		// Act
+		boolean result = xsync.tryExecute("key", () -> executed.set(true));
+		// Assert
+		assertThat(result).isTrue();
+		assertThat(executed).isTrue();
+	}
+
+	@Test
+	void skipWhenKeyIsBusy() throws InterruptedException {
+		// Arrange
+		holdKeyInAnotherThread(new String("key"));
+		AtomicBoolean executed = new AtomicBoolean();
+		// Act
+		boolean result = xsync.tryExecute(new String("key"), () -> executed.set(true));
+		// Assert
+		assertThat(result).isFalse();
+		assertThat(executed).isFalse();
+	}
+
+	@Test
+	void otherKeysAreNotBusy() throws InterruptedException {
+		// Arrange
+		holdKeyInAnotherThread("key");
+		// Act
+		boolean result = xsync.tryExecute("other", () -> { });
+		// Assert
+		assertThat(result).isTrue();
+	}
+
+	@Test
+	void giveUpAfterTimeout() throws InterruptedException {
+		// Arrange
+		holdKeyInAnotherThread("key");
+		long start = System.nanoTime();
+		// Act
+		boolean result = xsync.tryExecute("key", 100, TimeUnit.MILLISECONDS, () -> { });
+		// Assert
+		assertThat(result).isFalse();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+	}
+
+	@Test
+	void executeWhenKeyBecomesFreeWithinTimeout() throws InterruptedException {
+		// Arrange
+		holdKeyInAnotherThread("key");
+		executor.submit(() -> {
+			ThreadSleep.wait(1);
+			unlock.countDown();
+		});
+		// Act
+		boolean result = xsync.tryExecute("key", 5, TimeUnit.SECONDS, () -> { });
+		// Assert
+		assertThat(result).isTrue();
+	}
+
+	@Test
+	void evaluateOrFallback() throws InterruptedException {
+		// Arrange
+		String free = xsync.tryEvaluate("key", () -> "supplier", () -> "fallback");
+		holdKeyInAnotherThread("key");
+		// Act
+		String busy = xsync.tryEvaluate("key", 10, TimeUnit.MILLISECONDS, () -> "supplier", () -> "fallback");
+		// Assert
+		assertThat(free).isEqualTo("supplier");
+		assertThat(busy).isEqualTo("fallback");
+	}
+
+	@Test
+	void fallbackWhenInterrupted() throws InterruptedException {
+		// Arrange
+		holdKeyInAnotherThread("key");
+		Thread.currentThread().interrupt();
+		// Act
+		String result = xsync.tryEvaluate("key", 5, TimeUnit.SECONDS, () -> "supplier", () -> "fallback");
+		// Assert
+		assertThat(Thread.interrupted()).isTrue();
+		assertThat(result).isEqualTo("fallback");
+	}
+
+	@Test
+	void blockingExecuteWaitsForTryExecute() throws InterruptedException {
+		// Arrange
+		executor.submit(() -> xsync.tryExecute("key", () -> {
+			locked.countDown();
+			await(unlock);
+		}));
+		locked.await(5, TimeUnit.SECONDS);
+		// Act
+		boolean result = xsync.tryExecute("key", () -> { });
+		unlock.countDown();
+		String evaluated = xsync.evaluate("key", () -> "done");
+		// Assert
+		assertThat(result).isFalse();
+		assertThat(evaluated).isEqualTo("done");
+	}
+
+	private void holdKeyInAnotherThread(String key) throws InterruptedException {
+		executor.submit(() -> xsync.execute(key, () -> {
+			locked.countDown();
+			await(unlock);
+		}));
+		locked.await(5, TimeUnit.SECONDS);
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
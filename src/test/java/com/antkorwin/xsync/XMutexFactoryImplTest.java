@@ -238,4 +238,24 @@ public class XMutexFactoryImplTest {
 
 		assertThat(distinctResult).hasSize(NUMBER_OF_MUTEXES);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGetMutexesReturnsTheSameMutexesAsGetMutex() {
+		// Arrange
+		XMutexFactoryImpl<UUID> mutexFactory = new XMutexFactoryImpl<>();
+		List<UUID> ids = IntStream.range(0, 1000)
+		                          .mapToObj(i -> UUID.randomUUID())
+		                          .collect(toList());
+		XMutex<UUID> existing = mutexFactory.getMutex(ids.get(0));
+		// Act
+		List<XMutex<UUID>> mutexes = mutexFactory.getMutexes(ids);
+		// Asserts
+		assertThat(mutexes).hasSize(ids.size());
+		assertThat(mutexes.get(0)).isSameAs(existing);
+		for (int i = 0; i < ids.size(); i++) {
+			assertThat(mutexes.get(i).getKey()).isEqualTo(ids.get(i));
+			assertThat(mutexFactory.getMutex(UUID.fromString(ids.get(i).toString()))).isSameAs(mutexes.get(i));
+		}
+		assertThat(mutexFactory.size()).isEqualTo(ids.size());
+	}
+}
@@ -1,8 +1,15 @@
 package com.antkorwin.xsync;
 
 import java.lang.ref.WeakReference;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -73,4 +80,67 @@ public class XMutexTest {
         // Assert
         Assertions.assertThat(mutex.getKey()).isEqualTo(123);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMutexIsReentrantLock() {
+        // Arrange
+        XMutex<String> mutex = new XMutex<>(FIRST_KEY);
+
+        // Act
+        mutex.lock();
+        mutex.lock();
+
+        // Asserts
+        Assertions.assertThat(mutex.isHeldByCurrentThread()).isTrue();
+        Assertions.assertThat(mutex.getHoldCount()).isEqualTo(2);
+        mutex.unlock();
+        mutex.unlock();
+        Assertions.assertThat(mutex.isLocked()).isFalse();
+    }
+
+    @Test
+    public void testUniqueIdsOfEqualMutexes() {
+        // Arrange
+        XMutex<String> mutex1 = new XMutex<>(FIRST_KEY);
+        XMutex<String> mutex2 = new XMutex<>(SECOND_KEY);
+
+        // Act & Assert
+        Assertions.assertThat(mutex1).isEqualTo(mutex2);
+        Assertions.assertThat(mutex2.getId()).isNotEqualTo(mutex1.getId());
+    }
+
+    @Test
+    public void testIdIsAssignedOnce() {
+        // Arrange
+        XMutex<String> mutex = new XMutex<>(FIRST_KEY);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        // Act
+        StressTestRunner.test()
+                        .mode(ExecutionMode.EXECUTOR_MODE)
+                        .threads(8)
+                        .iterations(1000)
+                        .timeout(1, TimeUnit.MINUTES)
+                        .run(() -> ids.add(mutex.getId()));
+
+        // Assert
+        Assertions.assertThat(ids).hasSize(1);
+        Assertions.assertThat(ids.iterator().next()).isPositive();
+    }
+
+    @Test
+    public void testFeaturesAreCreatedOnce() {
+        // Arrange
+        XMutex<String> mutex = new XMutex<>(FIRST_KEY);
+
+        // Act
+        ReentrantReadWriteLock readWriteLock = mutex.getReadWriteLock(false);
+        StampedLock stampedLock = mutex.getStampedLock();
+
+        // Assert
+        Assertions.assertThat(mutex.getReadWriteLock(true)).isSameAs(readWriteLock);
+        Assertions.assertThat(readWriteLock.isFair()).isFalse();
+        Assertions.assertThat(mutex.getStampedLock()).isSameAs(stampedLock);
+        Assertions.assertThat(mutex.getBatchQueue()).isSameAs(mutex.getBatchQueue());
+    }
+}
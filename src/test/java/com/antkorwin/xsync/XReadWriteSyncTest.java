@@ -0,0 +1,221 @@
+package com.antkorwin.xsync;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.antkorwin.commonutils.concurrent.NonAtomicInt;
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * read/write synchronization by the value of keys
+ *
+ * @author Korovin Anatoliy
+ */
+class XReadWriteSyncTest {
+
+	private static final int ITERATIONS = 100_000;
+	private static final int THREADS_COUNT = 8;
+
+	private ExecutorService executor;
+	private CountDownLatch locked;
+	private CountDownLatch unlock;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(3);
+		locked = new CountDownLatch(1);
+		unlock = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		unlock.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void readersRunConcurrently() throws InterruptedException {
+		// Arrange
+		XReadWriteSync<String> sync = new XReadWriteSync<>();
+		executor.submit(() -> sync.executeRead(new String("key"), this::holdLock));
+		locked.await();
+		// Act
+		String result = sync.evaluateRead(new String("key"), () -> "read");
+		// Assert
+		assertThat(result).isEqualTo("read");
+	}
+
+	@Test
+	void writerWaitsForReaders() throws InterruptedException {
+		// Arrange
+		XReadWriteSync<String> sync = new XReadWriteSync<>();
+		executor.submit(() -> sync.executeRead(new String("key"), this::holdLock));
+		locked.await();
+		AtomicBoolean written = new AtomicBoolean();
+		// Act
+		executor.submit(() -> sync.executeWrite(new String("key"), () -> written.set(true)));
+		// Assert
+		ThreadSleep.wait(1);
+		assertThat(written).isFalse();
+		unlock.countDown();
+		await().atMost(5, TimeUnit.SECONDS).untilTrue(written);
+	}
+
+	@Test
+	void readerWaitsForWriter() throws InterruptedException {
+		// Arrange
+		XReadWriteSync<String> sync = new XReadWriteSync<>();
+		executor.submit(() -> sync.executeWrite(new String("key"), this::holdLock));
+		locked.await();
+		AtomicBoolean read = new AtomicBoolean();
+		// Act
+		executor.submit(() -> sync.executeRead(new String("key"), () -> read.set(true)));
+		// Assert
+		ThreadSleep.wait(1);
+		assertThat(read).isFalse();
+		unlock.countDown();
+		await().atMost(5, TimeUnit.SECONDS).untilTrue(read);
+	}
+
+	@Test
+	void writerPreferenceBlocksNewReaders() throws InterruptedException {
+		// Arrange
+		XReadWriteSync<String> sync = new XReadWriteSync<>(new XMutexFactoryImpl<>(), true);
+		executor.submit(() -> sync.executeRead("key", this::holdLock));
+		locked.await();
+		AtomicBoolean written = new AtomicBoolean();
+		executor.submit(() -> sync.executeWrite("key", () -> written.set(true)));
+		ThreadSleep.wait(1);
+		AtomicBoolean read = new AtomicBoolean();
+		// Act
+		executor.submit(() -> sync.executeRead("key", () -> read.set(true)));
+		// Assert
+		ThreadSleep.wait(1);
+		assertThat(read).isFalse();
+		unlock.countDown();
+		await().atMost(5, TimeUnit.SECONDS).untilTrue(read);
+		assertThat(written).isTrue();
+	}
+
+	@Test
+	void writerPreferenceBlocksNewReadersOfKeySets() throws InterruptedException {
+		// Arrange
+		XReadWriteSync<String> sync = new XReadWriteSync<>(new XMutexFactoryImpl<>(), true);
+		executor.submit(() -> sync.executeRead("key", this::holdLock));
+		locked.await();
+		AtomicBoolean written = new AtomicBoolean();
+		executor.submit(() -> sync.executeWrite("key", () -> written.set(true)));
+		ThreadSleep.wait(1);
+		AtomicBoolean read = new AtomicBoolean();
+		// Act
+		executor.submit(() -> sync.execute(Arrays.asList("other", "key"),
+		                                   Collections.emptyList(),
+		                                   () -> read.set(true)));
+		// Assert
+		ThreadSleep.wait(1);
+		assertThat(read).isFalse();
+		unlock.countDown();
+		await().atMost(5, TimeUnit.SECONDS).untilTrue(read);
+		assertThat(written).isTrue();
+	}
+
+	@Test
+	void writeIsExclusive() {
+		// Arrange
+		XReadWriteSync<Long> sync = new XReadWriteSync<>();
+		NonAtomicInt counter = new NonAtomicInt(0);
+		AtomicInteger writes = new AtomicInteger();
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(THREADS_COUNT)
+		                .iterations(ITERATIONS)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> {
+			                if (ThreadLocalRandom.current().nextInt(4) == 0) {
+				                writes.incrementAndGet();
+				                sync.executeWrite(Long.valueOf(1_000_000L), counter::increment);
+			                } else {
+				                int value = sync.evaluateRead(Long.valueOf(1_000_000L), counter::getValue);
+				                assertThat(value).isGreaterThanOrEqualTo(0);
+			                }
+		                });
+		// Assert
+		assertThat(counter.getValue()).isEqualTo(writes.get());
+	}
+
+	@Test
+	void mixedKeySetsDoNotDeadlock() {
+		// Arrange
+		XReadWriteSync<Long> sync = new XReadWriteSync<>(new XMutexFactoryImpl<>(), true);
+		NonAtomicInt[] counters = new NonAtomicInt[5];
+		Arrays.setAll(counters, i -> new NonAtomicInt(0));
+		AtomicInteger[] writes = new AtomicInteger[5];
+		Arrays.setAll(writes, i -> new AtomicInteger());
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(THREADS_COUNT)
+		                .iterations(ITERATIONS)
+		                // deadlock prevention
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> {
+			                int read = ThreadLocalRandom.current().nextInt(5);
+			                int write = ThreadLocalRandom.current().nextInt(5);
+			                writes[write].incrementAndGet();
+			                sync.execute(Arrays.asList((long) read, (long) (read + 1) % 5),
+			                             Collections.singletonList((long) write),
+			                             () -> {
+				                             counters[read].getValue();
+				                             counters[write].increment();
+			                             });
+		                });
+		// Assert
+		for (int i = 0; i < counters.length; i++) {
+			assertThat(counters[i].getValue()).isEqualTo(writes[i].get());
+		}
+	}
+
+	@Test
+	void emptyKeyLists() {
+		XReadWriteSync<Long> sync = new XReadWriteSync<>();
+		assertThatThrownBy(() -> sync.execute(Collections.emptyList(), Collections.emptyList(), () -> { }))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessage("Empty key list");
+	}
+
+	@Test
+	void stripedMutexes() {
+		assertThatThrownBy(() -> new XReadWriteSync<>(new StripedXMutexFactory<String>(4)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Striped mutexes are not supported by XReadWriteSync");
+	}
+
+	private void holdLock() {
+		locked.countDown();
+		try {
+			unlock.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * bounded parallelism by the value of keys
+ *
+ * @author Korovin Anatoliy
+ */
+class XSemaphoreTest {
+
+	private ExecutorService executor;
+	private CountDownLatch release;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		release.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void allowPermitsCountOfHolders() throws Exception {
+		// Arrange
+		XSemaphore<String> semaphore = new XSemaphore<>(2);
+		holdPermits(semaphore, new String("tenant"), 2);
+		// Act
+		boolean third = semaphore.tryExecute(new String("tenant"), () -> { });
+		boolean otherKey = semaphore.tryExecute(new String("other"), () -> { });
+		release.countDown();
+		boolean afterRelease = semaphore.tryExecute(new String("tenant"), 1, 5, TimeUnit.SECONDS, () -> { });
+		// Assert
+		assertThat(third).isFalse();
+		assertThat(otherKey).isTrue();
+		assertThat(afterRelease).isTrue();
+	}
+
+	@Test
+	void permitsOfKeyByFunction() throws Exception {
+		// Arrange
+		XSemaphore<String> semaphore = new XSemaphore<>(key -> key.startsWith("vip") ? 3 : 1);
+		holdPermits(semaphore, "vip-tenant", 2);
+		holdPermits(semaphore, "tenant", 1);
+		// Act
+		boolean vip = semaphore.tryExecute("vip-tenant", () -> { });
+		boolean regular = semaphore.tryExecute("tenant", () -> { });
+		// Assert
+		assertThat(vip).isTrue();
+		assertThat(regular).isFalse();
+	}
+
+	@Test
+	void callTakesSeveralPermits() throws Exception {
+		// Arrange
+		XSemaphore<String> semaphore = new XSemaphore<>(3);
+		holdPermits(semaphore, "host", 1);
+		// Act
+		boolean three = semaphore.tryExecute("host", 3, 0, TimeUnit.SECONDS, () -> { });
+		boolean two = semaphore.tryExecute("host", 2, 0, TimeUnit.SECONDS, () -> { });
+		// Assert
+		assertThat(three).isFalse();
+		assertThat(two).isTrue();
+	}
+
+	@Test
+	void timeoutOfWaiting() throws Exception {
+		// Arrange
+		XSemaphore<String> semaphore = new XSemaphore<>(1);
+		holdPermits(semaphore, "key", 1);
+		// Act
+		long startedAt = System.nanoTime();
+		boolean executed = semaphore.tryExecute("key", 1, 200, TimeUnit.MILLISECONDS, () -> { });
+		// Assert
+		assertThat(executed).isFalse();
+		assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+	}
+
+	@Test
+	void interruptedWaiting() throws Exception {
+		// Arrange
+		XSemaphore<String> semaphore = new XSemaphore<>(1);
+		holdPermits(semaphore, "key", 1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		// Act
+		Future<Boolean> result = executor.submit(() -> {
+			Thread.currentThread().interrupt();
+			boolean executed = semaphore.tryExecute("key", 1, 5, TimeUnit.SECONDS, () -> { });
+			interrupted.set(Thread.interrupted());
+			return executed;
+		});
+		// Assert
+		assertThat(result.get()).isFalse();
+		assertThat(interrupted).isTrue();
+	}
+
+	@Test
+	void concurrentHoldersNeverExceedPermits() {
+		// Arrange
+		XSemaphore<Integer> semaphore = new XSemaphore<>(3);
+		AtomicInteger holders = new AtomicInteger();
+		AtomicInteger maxHolders = new AtomicInteger();
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(100_000)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> semaphore.execute(Integer.valueOf(1000), () -> {
+			                maxHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+			                holders.decrementAndGet();
+		                }));
+		// Assert
+		assertThat(maxHolders.get()).isBetween(1, 3);
+	}
+
+	@Test
+	void idleSemaphoreIsRemoved() {
+		// Arrange
+		RefCountedXMutexFactory<String> factory = new RefCountedXMutexFactory<>();
+		XSemaphore<String> semaphore = new XSemaphore<>(factory, key -> 2);
+		// Act
+		semaphore.execute("key", () -> assertThat(factory.size()).isEqualTo(1));
+		// Assert
+		assertThat(factory.size()).isEqualTo(0);
+	}
+
+	@Test
+	void wrongPermits() {
+		XSemaphore<String> semaphore = new XSemaphore<>(key -> 0);
+		assertThatThrownBy(() -> semaphore.execute("key", 0, () -> { })).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> semaphore.execute("key", () -> { })).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@Timeout(5)
+	void morePermitsThanKeyHas() {
+		// Arrange
+		XSemaphore<String> semaphore = new XSemaphore<>(3);
+		AtomicBoolean executed = new AtomicBoolean();
+		// Act & Assert
+		assertThatThrownBy(() -> semaphore.execute("key", 4, () -> executed.set(true)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("permits must not exceed permits of the key: 4 > 3");
+		assertThatThrownBy(() -> semaphore.tryExecute("key", 4, 1, TimeUnit.SECONDS, () -> executed.set(true)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(executed).isFalse();
+		semaphore.execute("key", 3, () -> executed.set(true));
+		assertThat(executed).isTrue();
+	}
+
+	private void holdPermits(XSemaphore<String> semaphore, String key, int count) throws InterruptedException {
+		CountDownLatch holders = new CountDownLatch(count);
+		for (int i = 0; i < count; i++) {
+			executor.submit(() -> semaphore.execute(key, () -> {
+				holders.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		holders.await();
+	}
+}
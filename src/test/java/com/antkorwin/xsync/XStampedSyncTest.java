@@ -0,0 +1,151 @@
+package com.antkorwin.xsync;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * optimistic reading by the value of keys
+ *
+ * @author Korovin Anatoliy
+ */
+class XStampedSyncTest {
+
+	private static final int ITERATIONS = 100_000;
+	private static final int THREADS_COUNT = 8;
+
+	private XStampedSync<String> sync = new XStampedSync<>();
+	private ExecutorService executor;
+	private CountDownLatch locked;
+	private CountDownLatch unlock;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(2);
+		locked = new CountDownLatch(1);
+		unlock = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		unlock.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void optimisticReadWithoutWriter() {
+		// Arrange
+		AtomicInteger evaluations = new AtomicInteger();
+		// Act
+		String result = sync.evaluateOptimistic("key", () -> {
+			evaluations.incrementAndGet();
+			return "value";
+		});
+		// Assert
+		assertThat(result).isEqualTo("value");
+		assertThat(evaluations).hasValue(1);
+	}
+
+	@Test
+	void optimisticReadNotBlockedByReader() throws InterruptedException {
+		// Arrange
+		executor.submit(() -> sync.evaluateRead(new String("key"), () -> {
+			holdLock();
+			return null;
+		}));
+		locked.await();
+		// Act
+		String result = sync.evaluateOptimistic(new String("key"), () -> "value");
+		// Assert
+		assertThat(result).isEqualTo("value");
+	}
+
+	@Test
+	void optimisticReadWaitsForWriter() throws InterruptedException {
+		// Arrange
+		executor.submit(() -> sync.executeWrite(new String("key"), this::holdLock));
+		locked.await();
+		AtomicBoolean read = new AtomicBoolean();
+		// Act
+		executor.submit(() -> read.set(sync.evaluateOptimistic(new String("key"), () -> true)));
+		// Assert
+		ThreadSleep.wait(1);
+		assertThat(read).isFalse();
+		unlock.countDown();
+		await().atMost(5, TimeUnit.SECONDS).untilTrue(read);
+	}
+
+	@Test
+	void optimisticReadIsConsistent() {
+		// Arrange
+		Point point = new Point();
+		AtomicInteger inconsistentReads = new AtomicInteger();
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(THREADS_COUNT)
+		                .iterations(ITERATIONS)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> {
+			                if (ThreadLocalRandom.current().nextInt(8) == 0) {
+				                sync.executeWrite("point", point::move);
+			                } else {
+				                boolean consistent = sync.evaluateOptimistic("point", point::isConsistent);
+				                if (!consistent) {
+					                inconsistentReads.incrementAndGet();
+				                }
+			                }
+		                });
+		// Assert
+		assertThat(inconsistentReads).hasValue(0);
+	}
+
+	@Test
+	void stripedMutexes() {
+		assertThatThrownBy(() -> new XStampedSync<>(new StripedXMutexFactory<String>(4)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Striped mutexes are not supported by XStampedSync");
+	}
+
+	private void holdLock() {
+		locked.countDown();
+		try {
+			unlock.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class Point {
+		private int x;
+		private int y;
+
+		void move() {
+			x++;
+			Thread.yield();
+			y++;
+		}
+
+		boolean isConsistent() {
+			return x == y;
+		}
+	}
+}
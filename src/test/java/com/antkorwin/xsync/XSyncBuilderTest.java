@@ -0,0 +1,177 @@
+package com.antkorwin.xsync;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.antkorwin.commonutils.concurrent.NonAtomicInt;
+import com.antkorwin.commonutils.gc.GcUtils;
+import com.jupiter.tools.stress.test.concurrency.ExecutionMode;
+import com.jupiter.tools.stress.test.concurrency.StressTestRunner;
+import org.hibernate.validator.internal.util.ConcurrentReferenceHashMap.ReferenceType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * settings of the mutex factory by the builder of XSync
+ *
+ * @author Korovin Anatoliy
+ */
+class XSyncBuilderTest {
+
+	@Test
+	void defaultSettings() {
+		// Arrange
+		XMutexFactoryImpl<String> factory = XSync.builder().buildFactory();
+		// Act
+		XMutex<String> first = factory.getMutex(new String("key"));
+		XMutex<String> second = factory.getMutex(new String("key"));
+		// Assert
+		assertThat(first).isSameAs(second);
+		assertThat(first.isFair()).isFalse();
+	}
+
+	@Test
+	void capacityOfExpectedSize() {
+		assertThat(XSync.builder().expectedSize(5_000_000).initialCapacity()).isEqualTo(6_666_667);
+		assertThat(XSync.builder().expectedSize(1000).loadFactor(0.5f).initialCapacity()).isEqualTo(2000);
+		assertThat(XSync.builder().expectedSize(Integer.MAX_VALUE).initialCapacity()).isEqualTo(1 << 30);
+	}
+
+	@Test
+	void identityComparisons() {
+		// Arrange
+		XMutexFactoryImpl<String> factory = XSync.builder().identityComparisons().buildFactory();
+		String key = new String("key");
+		// Act
+		XMutex<String> first = factory.getMutex(key);
+		XMutex<String> same = factory.getMutex(key);
+		XMutex<String> equal = factory.getMutex(new String("key"));
+		// Assert
+		assertThat(first).isSameAs(same);
+		assertThat(first).isNotSameAs(equal);
+	}
+
+	@Test
+	void strongValuesAreNotCollected() {
+		// Arrange
+		XMutexFactoryImpl<Long> factory = XSync.builder()
+		                                       .keyReferenceType(ReferenceType.STRONG)
+		                                       .valueReferenceType(ReferenceType.STRONG)
+		                                       .buildFactory();
+		long id = factory.getMutex(1_000_000L).getId();
+		// Act
+		GcUtils.fullFinalization();
+		factory.purgeUnreferenced();
+		// Assert
+		assertThat(factory.size()).isEqualTo(1);
+		assertThat(factory.getMutex(1_000_000L).getId()).isEqualTo(id);
+	}
+
+	@Test
+	void fairMutexes() {
+		// Arrange
+		XSync<Integer> xsync = XSync.builder().fair(true).build();
+		NonAtomicInt counter = new NonAtomicInt(0);
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(100_000)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> xsync.execute(Integer.valueOf(1000), counter::increment));
+		// Assert
+		assertThat(counter.getValue()).isEqualTo(100_000);
+		assertThat(XSync.builder().fair(true).<String>buildFactory().getMutex("key").isFair()).isTrue();
+	}
+
+	@Test
+	void metrics() {
+		// Arrange
+		List<Object> acquiredKeys = new CopyOnWriteArrayList<>();
+		XSync<String> xsync = XSync.builder()
+		                           .expectedSize(1000)
+		                           .metrics(new XSyncMetrics() {
+			                           @Override
+			                           public void acquired(Object key, String tag, long waitNanos, boolean contended) {
+				                           acquiredKeys.add(key);
+			                           }
+		                           })
+		                           .build();
+		// Act
+		xsync.execute("key", () -> { });
+		// Assert
+		assertThat(acquiredKeys).containsExactly("key");
+	}
+
+	@Test
+	void primitiveLongKeys() {
+		// Arrange
+		List<Object> acquiredKeys = new CopyOnWriteArrayList<>();
+		LongXSync xsync = XSync.builder()
+		                       .expectedSize(100_000)
+		                       .metrics(new XSyncMetrics() {
+			                       @Override
+			                       public void acquired(Object key, String tag, long waitNanos, boolean contended) {
+				                       acquiredKeys.add(key);
+			                       }
+		                       })
+		                       .buildLong();
+		// Act
+		xsync.execute(42L, () -> { });
+		// Assert
+		assertThat(acquiredKeys).containsExactly(42L);
+	}
+
+	@Test
+	void primitiveIntKeys() {
+		// Arrange
+		IntXMutexFactory factory = XSync.builder().expectedSize(100_000).fair(true).buildIntFactory();
+		IntXSync xsync = XSync.builder().buildInt();
+		NonAtomicInt counter = new NonAtomicInt(0);
+		// Act
+		StressTestRunner.test()
+		                .mode(ExecutionMode.EXECUTOR_MODE)
+		                .threads(8)
+		                .iterations(100_000)
+		                .timeout(1, TimeUnit.MINUTES)
+		                .run(() -> xsync.execute(1000, counter::increment));
+		// Assert
+		assertThat(counter.getValue()).isEqualTo(100_000);
+		assertThat(factory.getMutex(1).isFair()).isTrue();
+		assertThat(factory.getMutex(1)).isSameAs(factory.getMutex(Integer.valueOf(1)));
+	}
+
+	@Test
+	void unsupportedSettingsOfPrimitiveKeys() {
+		assertThatThrownBy(() -> XSync.builder().identityComparisons().buildLong())
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> XSync.builder().valueReferenceType(ReferenceType.STRONG).buildIntFactory())
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void strongMutexesWithNotStrongKeys() {
+		assertThatThrownBy(() -> XSync.builder().valueReferenceType(ReferenceType.STRONG).build())
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Strong mutexes require strong keys");
+		assertThatThrownBy(() -> XSync.builder()
+		                              .keyReferenceType(ReferenceType.SOFT)
+		                              .valueReferenceType(ReferenceType.STRONG)
+		                              .buildFactory())
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void wrongSettings() {
+		assertThatThrownBy(() -> XSync.builder().expectedSize(-1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> XSync.builder().loadFactor(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> XSync.builder().loadFactor(Float.NaN)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> XSync.builder().concurrencyLevel(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> XSync.builder().keyReferenceType(null)).isInstanceOf(NullPointerException.class);
+	}
+}
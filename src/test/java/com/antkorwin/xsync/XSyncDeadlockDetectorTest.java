@@ -0,0 +1,161 @@
+package com.antkorwin.xsync;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * detection of cycles between nested blocks of different XSync instances
+ *
+ * @author Korovin Anatoliy
+ */
+class XSyncDeadlockDetectorTest {
+
+	private XSync<String> accounts = new XSync<>();
+	private XSync<String> ledgers = new XSync<>();
+	private ExecutorService executor;
+	private CountDownLatch outerLocked;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(2);
+		outerLocked = new CountDownLatch(2);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		XSyncDeadlockDetector.disable();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void disabledByDefault() {
+		assertThat(XSyncDeadlockDetector.isEnabled()).isFalse();
+	}
+
+	@Test
+	void throwInOneThreadOfCycle() throws Exception {
+		// Arrange
+		XSyncDeadlockDetector.enableThrowing();
+		// Act
+		List<Throwable> failures = runConcurrently(
+				() -> accounts.execute("account-1", afterOther(() -> ledgers.execute("ledger-7", () -> { }))),
+				() -> ledgers.execute("ledger-7", afterOther(() -> accounts.execute("account-1", () -> { }))));
+		// Assert
+		assertThat(failures).hasSize(1);
+		assertThat(failures.get(0)).isInstanceOf(XSyncDeadlockException.class)
+		                           .hasMessageContaining("holds [account-1] and waits for [ledger-7]")
+		                           .hasMessageContaining("holds [ledger-7] and waits for [account-1]");
+	}
+
+	@Test
+	void reportBothKeyChains() throws Exception {
+		// Arrange
+		List<XSyncDeadlockException> deadlocks = new CopyOnWriteArrayList<>();
+		XSyncDeadlockDetector.enable(deadlock -> {
+			deadlocks.add(deadlock);
+			throw new IllegalStateException("stop waiting");
+		});
+		// Act
+		runConcurrently(
+				() -> accounts.execute("account-1", afterOther(() -> ledgers.execute("ledger-7", () -> { }))),
+				() -> ledgers.execute("ledger-7", afterOther(() -> accounts.execute("account-1", () -> { }))));
+		// Assert
+		assertThat(deadlocks).hasSize(1);
+		List<XSyncDeadlockException.Waiter> waiters = deadlocks.get(0).getWaiters();
+		assertThat(waiters).hasSize(2);
+		XSyncDeadlockException.Waiter detector = waiters.get(0);
+		XSyncDeadlockException.Waiter other = waiters.get(1);
+		assertThat(detector.getThreadName()).isNotEqualTo(other.getThreadName());
+		assertThat(detector.getHeldKey()).isEqualTo(other.getWaitedKey());
+		assertThat(detector.getWaitedKey()).isEqualTo(other.getHeldKey());
+		assertThat(Arrays.asList(detector.getHeldKey(), detector.getWaitedKey()))
+				.containsExactlyInAnyOrder("account-1", "ledger-7");
+	}
+
+	@Test
+	void cycleWithMultiKeysBlock() throws Exception {
+		// Arrange
+		XSyncDeadlockDetector.enableThrowing();
+		// Act
+		List<Throwable> failures = runConcurrently(
+				() -> accounts.execute(Arrays.asList("account-1", "account-2"),
+				                       afterOther(() -> ledgers.execute("ledger-7", () -> { }))),
+				() -> ledgers.execute("ledger-7",
+				                      afterOther(() -> accounts.execute(Arrays.asList("account-2", "account-3"), () -> { }))));
+		// Assert
+		assertThat(failures).hasSize(1);
+		assertThat(failures.get(0)).isInstanceOf(XSyncDeadlockException.class)
+		                           .hasMessageContaining("account-2")
+		                           .hasMessageContaining("ledger-7");
+	}
+
+	@Test
+	void contentionWithoutCycle() throws Exception {
+		// Arrange
+		List<XSyncDeadlockException> deadlocks = new CopyOnWriteArrayList<>();
+		XSyncDeadlockDetector.enable(deadlocks::add);
+		CountDownLatch locked = new CountDownLatch(1);
+		Future<?> holder = executor.submit(() -> accounts.execute("account-1", () -> {
+			locked.countDown();
+			ThreadSleep.wait(1);
+		}));
+		locked.await();
+		// Act
+		Future<?> waiter = executor.submit(() -> ledgers.execute("ledger-7", () -> accounts.execute("account-1", () -> { })));
+		holder.get(5, TimeUnit.SECONDS);
+		waiter.get(5, TimeUnit.SECONDS);
+		// Assert
+		assertThat(deadlocks).isEmpty();
+	}
+
+	/**
+	 * Run two blocks in different threads.
+	 *
+	 * @return failures of threads
+	 */
+	private List<Throwable> runConcurrently(Runnable first, Runnable second) throws Exception {
+		List<Future<?>> futures = Arrays.asList(executor.submit(first), executor.submit(second));
+		List<Throwable> failures = new ArrayList<>();
+		for (Future<?> future : futures) {
+			try {
+				future.get(5, TimeUnit.SECONDS);
+			} catch (ExecutionException e) {
+				failures.add(e.getCause());
+			}
+		}
+		return failures;
+	}
+
+	/**
+	 * @return the block which waits until both threads take outer keys and then runs the inner block
+	 */
+	private Runnable afterOther(Runnable inner) {
+		return () -> {
+			outerLocked.countDown();
+			try {
+				outerLocked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			inner.run();
+		};
+	}
+}
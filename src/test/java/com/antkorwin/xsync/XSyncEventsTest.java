@@ -0,0 +1,150 @@
+package com.antkorwin.xsync;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * JFR events of waiting and holding of locks, runs on JDK 11+
+ *
+ * @author Korovin Anatoliy
+ */
+class XSyncEventsTest {
+
+	private ExecutorService executor;
+	private CountDownLatch locked;
+	private CountDownLatch unlock;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(2);
+		locked = new CountDownLatch(1);
+		unlock = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		unlock.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void disabledWithoutRecording() {
+		assertThat(XSyncEvents.isEnabled()).isFalse();
+	}
+
+	@Test
+	void eventsAreNotAllocatedWithoutRecording() {
+		// Act
+		Object wait = XSyncEvents.beginWait();
+		Object hold = XSyncEvents.endWait(wait, "key", null, false);
+		// Assert
+		assertThat(wait).isNull();
+		assertThat(hold).isNull();
+	}
+
+	@Test
+	void contendedWaitAndHold() throws Exception {
+		// Arrange
+		XSync<String> xsync = new XSync<>();
+		List<RecordedEvent> events;
+		try (Recording recording = startRecording()) {
+			executor.submit(() -> xsync.execute(new String("key"), this::holdLock));
+			locked.await();
+			// Act
+			Future<?> waiting = executor.submit(() -> xsync.tagged("checkout").execute(new String("key"), () -> { }));
+			ThreadSleep.wait(1);
+			unlock.countDown();
+			waiting.get();
+			events = stopRecording(recording);
+		}
+		// Assert
+		RecordedEvent wait = single(events, "xsync.KeyWait", "checkout");
+		assertThat(wait.getString("key")).isEqualTo("key");
+		assertThat(wait.getBoolean("contended")).isTrue();
+		assertThat(wait.getDuration().toMillis()).isGreaterThanOrEqualTo(500);
+		assertThat(wait.getThread().getJavaName()).startsWith("pool-");
+
+		RecordedEvent hold = single(events, "xsync.KeyHold", null);
+		assertThat(hold.getString("key")).isEqualTo("key");
+		assertThat(hold.getBoolean("contended")).isFalse();
+		assertThat(hold.getDuration().toMillis()).isGreaterThanOrEqualTo(500);
+	}
+
+	@Test
+	void multiKeys() throws Exception {
+		// Arrange
+		XSync<String> xsync = new XSync<>();
+		List<RecordedEvent> events;
+		try (Recording recording = startRecording()) {
+			// Act
+			xsync.execute(Arrays.asList("a", "b"), () -> { });
+			events = stopRecording(recording);
+		}
+		// Assert
+		RecordedEvent wait = single(events, "xsync.KeyWait", null);
+		assertThat(wait.getString("key")).isEqualTo("[a, b]");
+		assertThat(wait.getBoolean("contended")).isFalse();
+		assertThat(single(events, "xsync.KeyHold", null).getString("key")).isEqualTo("[a, b]");
+	}
+
+	private Recording startRecording() {
+		Recording recording = new Recording();
+		recording.enable("xsync.KeyWait").withThreshold(Duration.ZERO);
+		recording.enable("xsync.KeyHold").withThreshold(Duration.ZERO);
+		recording.start();
+		assertThat(XSyncEvents.isEnabled()).isTrue();
+		return recording;
+	}
+
+	private List<RecordedEvent> stopRecording(Recording recording) throws Exception {
+		recording.stop();
+		Path file = Files.createTempFile("xsync", ".jfr");
+		try {
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private RecordedEvent single(List<RecordedEvent> events, String name, String tag) {
+		List<RecordedEvent> found = events.stream()
+		                                  .filter(e -> e.getEventType().getName().equals(name))
+		                                  .filter(e -> Objects.equals(tag, e.getString("tag")))
+		                                  .collect(Collectors.toList());
+		assertThat(found).isNotEmpty();
+		return found.get(found.size() - 1);
+	}
+
+	private void holdLock() {
+		locked.countDown();
+		try {
+			unlock.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
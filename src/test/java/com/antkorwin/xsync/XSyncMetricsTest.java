@@ -0,0 +1,171 @@
+package com.antkorwin.xsync;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.antkorwin.commonutils.concurrent.ThreadSleep;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * reporting of waiting and holding of locks
+ *
+ * @author Korovin Anatoliy
+ */
+class XSyncMetricsTest {
+
+	private RecordingMetrics metrics = new RecordingMetrics();
+	private XSync<String> xsync = new XSync<>(new XMutexFactoryImpl<>(), metrics);
+	private ExecutorService executor;
+	private CountDownLatch locked;
+	private CountDownLatch unlock;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(2);
+		locked = new CountDownLatch(1);
+		unlock = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		unlock.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void uncontendedExecute() {
+		// Act
+		xsync.execute("key", () -> { });
+		// Assert
+		assertThat(metrics.events).containsExactly("acquired key null 0 false",
+		                                           "released key null");
+	}
+
+	@Test
+	void holdTime() {
+		// Arrange
+		HistogramXSyncMetrics histogram = new HistogramXSyncMetrics();
+		XSync<String> measured = new XSync<>(new XMutexFactoryImpl<>(), histogram);
+		// Act
+		measured.execute("key", () -> ThreadSleep.wait(1));
+		// Assert
+		assertThat(histogram.getHoldTime().getCount()).isEqualTo(1);
+		assertThat(histogram.getHoldTime().getMax()).isGreaterThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+		assertThat(histogram.getWaitTime().getMax()).isEqualTo(0);
+		assertThat(histogram.getContendedCount()).isEqualTo(0);
+	}
+
+	@Test
+	void contendedEvaluate() throws Exception {
+		// Arrange
+		HistogramXSyncMetrics histogram = new HistogramXSyncMetrics();
+		XSync<String> measured = new XSync<>(new XMutexFactoryImpl<>(), histogram);
+		executor.submit(() -> measured.execute(new String("key"), this::holdLock));
+		locked.await();
+		// Act
+		Future<String> result = executor.submit(() -> measured.evaluate(new String("key"), () -> "done"));
+		ThreadSleep.wait(1);
+		unlock.countDown();
+		// Assert
+		assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+		assertThat(histogram.getContendedCount()).isEqualTo(1);
+		assertThat(histogram.getWaitTime().getCount()).isEqualTo(2);
+		assertThat(histogram.getWaitTime().getMax()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(900));
+	}
+
+	@Test
+	void taggedViewSharesMutexes() throws Exception {
+		// Arrange
+		XSync<String> checkout = xsync.tagged("checkout");
+		executor.submit(() -> checkout.execute(new String("key"), this::holdLock));
+		locked.await();
+		// Act
+		boolean executed = xsync.tryExecute(new String("key"), () -> { });
+		unlock.countDown();
+		// Assert
+		assertThat(executed).isFalse();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+		assertThat(metrics.events).containsExactly("acquired key checkout 0 false",
+		                                           "released key checkout");
+	}
+
+	@Test
+	void multipleKeys() {
+		// Arrange
+		List<String> keys = Arrays.asList("a", "b", "c");
+		// Act
+		xsync.execute(keys, () -> { });
+		xsync.execute("a", "b", () -> { });
+		// Assert
+		assertThat(metrics.events).containsExactly("acquired [a, b, c] null 0 false",
+		                                           "released [a, b, c] null",
+		                                           "acquired [a, b] null 0 false",
+		                                           "released [a, b] null");
+	}
+
+	@Test
+	void keysOfStripedMutexes() {
+		// Arrange
+		XSync<String> striped = new XSync<>(new StripedXMutexFactory<>(4), metrics);
+		// Act
+		striped.execute("first", () -> { });
+		striped.evaluate("second", () -> "done");
+		// Assert
+		assertThat(metrics.events).containsExactly("acquired first null 0 false",
+		                                           "released first null",
+		                                           "acquired second null 0 false",
+		                                           "released second null");
+	}
+
+	@Test
+	void releasedWhenFunctionThrowsException() {
+		// Act
+		try {
+			xsync.execute("key", () -> {
+				throw new IllegalStateException();
+			});
+		} catch (IllegalStateException ignored) {
+		}
+		// Assert
+		assertThat(metrics.events).containsExactly("acquired key null 0 false",
+		                                           "released key null");
+	}
+
+	private void holdLock() {
+		locked.countDown();
+		try {
+			unlock.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class RecordingMetrics implements XSyncMetrics {
+
+		private final List<String> events = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void acquired(Object key, String tag, long waitNanos, boolean contended) {
+			events.add("acquired " + key + " " + tag + " " + (waitNanos > 0 ? "waited" : "0") + " " + contended);
+		}
+
+		@Override
+		public void released(Object key, String tag, long holdNanos) {
+			events.add("released " + key + " " + tag);
+		}
+	}
+}
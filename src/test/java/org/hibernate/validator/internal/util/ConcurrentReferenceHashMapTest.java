@@ -0,0 +1,144 @@
+package org.hibernate.validator.internal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import com.antkorwin.commonutils.concurrent.ConcurrentSet;
+import org.junit.jupiter.api.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.validator.internal.util.ConcurrentReferenceHashMap.ReferenceType.STRONG;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Tests of the computeIfAbsent method, which is used to obtain mutexes.
+ *
+ * @author Korovin Anatoliy
+ */
+class ConcurrentReferenceHashMapTest {
+
+	private static final int NUMBER_OF_KEYS = 1_000;
+	private static final int NUMBER_OF_ITERATIONS = NUMBER_OF_KEYS * 1_000;
+
+	private ConcurrentReferenceHashMap<UUID, Object> map =
+			new ConcurrentReferenceHashMap<>(16, 0.75f, 16, STRONG, STRONG, null);
+
+	@Test
+	void computeValueForAbsentKey() {
+		// Arrange
+		UUID key = UUID.randomUUID();
+		Object value = new Object();
+		// Act
+		Object result = map.computeIfAbsent(key, k -> value);
+		// Assert
+		assertThat(result).isSameAs(value);
+		assertThat(map.get(key)).isSameAs(value);
+		assertThat(map.size()).isEqualTo(1);
+	}
+
+	@Test
+	void returnExistingValueWithoutComputing() {
+		// Arrange
+		UUID key = UUID.randomUUID();
+		Object value = new Object();
+		map.put(key, value);
+		// Act
+		Object result = map.computeIfAbsent(UUID.fromString(key.toString()), k -> {
+			throw new IllegalStateException("must not be called");
+		});
+		// Assert
+		assertThat(result).isSameAs(value);
+	}
+
+	@Test
+	void nullResultDoesNotCreateEntry() {
+		// Act
+		Object result = map.computeIfAbsent(UUID.randomUUID(), k -> null);
+		// Assert
+		assertThat(result).isNull();
+		assertThat(map.isEmpty()).isTrue();
+	}
+
+	@Test
+	void computeOnlyOncePerKeyInConcurrency() {
+		// Arrange
+		List<UUID> keys = IntStream.range(0, NUMBER_OF_KEYS)
+		                           .mapToObj(i -> UUID.randomUUID())
+		                           .collect(toList());
+		AtomicInteger computations = new AtomicInteger();
+		Set<Object> results = ConcurrentSet.getInstance();
+		// Act
+		IntStream.range(0, NUMBER_OF_ITERATIONS)
+		         .parallel()
+		         .forEach(i -> {
+			         UUID key = UUID.fromString(keys.get(i % NUMBER_OF_KEYS).toString());
+			         results.add(map.computeIfAbsent(key, k -> {
+				         computations.incrementAndGet();
+				         return new Object();
+			         }));
+		         });
+		// Assert
+		assertThat(computations.get()).isEqualTo(NUMBER_OF_KEYS);
+		assertThat(results).hasSize(NUMBER_OF_KEYS);
+		assertThat(map.size()).isEqualTo(NUMBER_OF_KEYS);
+	}
+
+	@Test
+	void computeAllAbsentKeysAndReturnExistingValues() {
+		// Arrange
+		UUID existingKey = UUID.randomUUID();
+		Object existingValue = new Object();
+		map.put(existingKey, existingValue);
+		List<UUID> absentKeys = IntStream.range(0, NUMBER_OF_KEYS)
+		                                 .mapToObj(i -> UUID.randomUUID())
+		                                 .collect(toList());
+		List<UUID> keys = new ArrayList<>(absentKeys);
+		keys.add(UUID.fromString(existingKey.toString()));
+		keys.add(UUID.fromString(absentKeys.get(0).toString()));
+		AtomicInteger computations = new AtomicInteger();
+		// Act
+		List<Object> values = map.computeIfAbsentAll(keys, k -> {
+			computations.incrementAndGet();
+			return k.toString();
+		});
+		// Assert
+		assertThat(computations.get()).isEqualTo(NUMBER_OF_KEYS);
+		assertThat(values).hasSize(keys.size());
+		for (int i = 0; i < NUMBER_OF_KEYS; i++) {
+			assertThat(values.get(i)).isEqualTo(keys.get(i).toString());
+			assertThat(map.get(keys.get(i))).isSameAs(values.get(i));
+		}
+		assertThat(values.get(NUMBER_OF_KEYS)).isSameAs(existingValue);
+		assertThat(values.get(NUMBER_OF_KEYS + 1)).isSameAs(values.get(0));
+		assertThat(map.size()).isEqualTo(NUMBER_OF_KEYS + 1);
+	}
+
+	@Test
+	void computeAllOnlyOncePerKeyInConcurrency() {
+		// Arrange
+		List<UUID> keys = IntStream.range(0, NUMBER_OF_KEYS)
+		                           .mapToObj(i -> UUID.randomUUID())
+		                           .collect(toList());
+		AtomicInteger computations = new AtomicInteger();
+		Set<Object> results = ConcurrentSet.getInstance();
+		// Act
+		IntStream.range(0, NUMBER_OF_KEYS)
+		         .parallel()
+		         .forEach(i -> {
+			         List<UUID> batch = keys.subList(i, Math.min(i + 100, NUMBER_OF_KEYS));
+			         results.addAll(map.computeIfAbsentAll(batch, k -> {
+				         computations.incrementAndGet();
+				         return new Object();
+			         }));
+		         });
+		// Assert
+		assertThat(computations.get()).isEqualTo(NUMBER_OF_KEYS);
+		assertThat(results).hasSize(NUMBER_OF_KEYS);
+	}
+}
@@ -0,0 +1,45 @@
+package com.antkorwin.xsync.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Runs the selected benchmarks with 1, 2, 4 ... N threads,
+ * where N is the number of available processors,
+ * and writes the results of each run to the benchmarks-[threads].json file.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.antkorwin.xsync.benchmark.BenchmarkRunner [regexp]}
+ *
+ * @author Korovin Anatoliy
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : KeyedLockBenchmark.class.getSimpleName();
+		for (int threads : threadCounts(Runtime.getRuntime().availableProcessors())) {
+			Options options = new OptionsBuilder().include(include)
+			                                      .threads(threads)
+			                                      .resultFormat(ResultFormatType.JSON)
+			                                      .result("benchmarks-" + threads + ".json")
+			                                      .build();
+			new Runner(options).run();
+		}
+	}
+
+	static List<Integer> threadCounts(int processors) {
+		List<Integer> result = new ArrayList<>();
+		for (int threads = 1; threads < processors; threads *= 2) {
+			result.add(threads);
+		}
+		result.add(processors);
+		return result;
+	}
+}
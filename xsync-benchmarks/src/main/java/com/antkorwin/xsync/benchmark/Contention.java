@@ -0,0 +1,27 @@
+package com.antkorwin.xsync.benchmark;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Describes how the benchmark threads share keys.
+ *
+ * @author Korovin Anatoliy
+ */
+public enum Contention {
+
+	/**
+	 * Each thread works with its own key, so locks are never contended.
+	 */
+	UNCONTENDED,
+
+	/**
+	 * Threads pick random keys from a shared pool, so two threads
+	 * meet on the same key only occasionally.
+	 */
+	LIGHT,
+
+	/**
+	 * All threads work with the single key.
+	 */
+	HEAVY
+}
@@ -0,0 +1,120 @@
+package com.antkorwin.xsync.benchmark;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.antkorwin.xsync.HistogramXSyncMetrics;
+import com.antkorwin.xsync.XMutexFactoryImpl;
+import com.antkorwin.xsync.XSync;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Cost of the single-key {@link XSync#execute} and {@link XSync#evaluate}
+ * in comparison with the common ways to lock by a key value:
+ * a map of {@link ReentrantLock}, monitors of interned strings
+ * and a fixed array of striped locks.
+ * <p>
+ * Each benchmark takes the next key of the thread, locks it
+ * and burns {@link #work} tokens of CPU inside the critical section.
+ * Run it with a different number of threads (see {@link BenchmarkRunner})
+ * to find out how every approach scales with the count of cores.
+ *
+ * @author Korovin Anatoliy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class KeyedLockBenchmark {
+
+	private static final int STRIPES = 1024;
+
+	/**
+	 * amount of CPU work inside the critical section
+	 */
+	@Param({"10"})
+	public int work;
+
+	private XSync<Long> xSync;
+	private XSync<Long> measuredXSync;
+	private ConcurrentHashMap<Long, ReentrantLock> lockMap;
+	private ReentrantLock[] stripes;
+
+	@Setup
+	public void setUp() {
+		xSync = new XSync<>();
+		measuredXSync = new XSync<>(new XMutexFactoryImpl<>(), new HistogramXSyncMetrics());
+		lockMap = new ConcurrentHashMap<>();
+		stripes = new ReentrantLock[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+	}
+
+	@Benchmark
+	public void xSyncExecute(KeyedState state) {
+		xSync.execute(state.nextKey(), () -> Blackhole.consumeCPU(work));
+	}
+
+	@Benchmark
+	public long xSyncEvaluate(KeyedState state) {
+		return xSync.evaluate(state.nextKey(), () -> {
+			Blackhole.consumeCPU(work);
+			return work;
+		});
+	}
+
+	@Benchmark
+	public void xSyncExecuteWithMetrics(KeyedState state) {
+		measuredXSync.execute(state.nextKey(), () -> Blackhole.consumeCPU(work));
+	}
+
+	@Benchmark
+	public void concurrentHashMapLock(KeyedState state) {
+		ReentrantLock lock = lockMap.computeIfAbsent(state.nextKey(), k -> new ReentrantLock());
+		lock.lock();
+		try {
+			Blackhole.consumeCPU(work);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Benchmark
+	public void internedStringMonitor(KeyedState state) {
+		synchronized (String.valueOf(state.nextKey()).intern()) {
+			Blackhole.consumeCPU(work);
+		}
+	}
+
+	@Benchmark
+	public void stripedLock(KeyedState state) {
+		ReentrantLock lock = stripes[spread(state.nextKey().hashCode()) & (STRIPES - 1)];
+		lock.lock();
+		try {
+			Blackhole.consumeCPU(work);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,68 @@
+package com.antkorwin.xsync.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Per-thread sequence of keys for the selected {@link Contention} mode.
+ * <p>
+ * All keys are prepared before a measurement, and equal keys are represented
+ * by different instances, like the ids parsed from separate requests.
+ *
+ * @author Korovin Anatoliy
+ */
+@State(Scope.Thread)
+public class KeyedState {
+
+	/**
+	 * size of the key pool in the {@link Contention#LIGHT} mode
+	 */
+	static final int LIGHT_POOL_SIZE = 1024;
+
+	private static final int SEQUENCE_LENGTH = 4096;
+	private static final long FIRST_KEY = 1_000_000L;
+	private static final AtomicInteger threadCounter = new AtomicInteger();
+
+	@Param({"UNCONTENDED", "LIGHT", "HEAVY"})
+	public Contention contention;
+
+	private Long[] keys;
+	private int cursor;
+
+	@Setup
+	public void setUp() {
+		int threadIndex = threadCounter.getAndIncrement();
+		Random random = new Random(threadIndex);
+		keys = new Long[SEQUENCE_LENGTH];
+		for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+			keys[i] = Long.valueOf(keyValue(threadIndex, random));
+		}
+	}
+
+	private long keyValue(int threadIndex, Random random) {
+		switch (contention) {
+			case UNCONTENDED:
+				return FIRST_KEY + threadIndex;
+			case LIGHT:
+				return FIRST_KEY + random.nextInt(LIGHT_POOL_SIZE);
+			case HEAVY:
+				return FIRST_KEY;
+			default:
+				throw new IllegalArgumentException("Unknown contention mode: " + contention);
+		}
+	}
+
+	/**
+	 * @return the next key for the current thread
+	 */
+	public Long nextKey() {
+		return keys[cursor++ & (SEQUENCE_LENGTH - 1)];
+	}
+}
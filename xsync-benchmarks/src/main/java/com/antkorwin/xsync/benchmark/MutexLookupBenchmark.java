@@ -0,0 +1,107 @@
+package com.antkorwin.xsync.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.antkorwin.xsync.CompactXMutexFactory;
+import com.antkorwin.xsync.ConcurrentHashMapXMutexFactory;
+import com.antkorwin.xsync.XMutex;
+import com.antkorwin.xsync.XMutexFactory;
+import com.antkorwin.xsync.XMutexFactoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Created on 17/10/2026
+ * <p>
+ * Cost of obtaining mutexes of a big multi-key batch: a call of
+ * {@code getMutex} per key against one call of {@code getMutexes},
+ * which takes a segment lock at most once to create absent mutexes,
+ * for the weak-map factory, the compact open-addressing table
+ * and the factory on the {@code ConcurrentHashMap}.
+ *
+ * @author Korovin Anatoliy
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MutexLookupBenchmark {
+
+	@Param({"1000", "10000"})
+	public int keysCount;
+
+	/**
+	 * true to look up keys in an empty factory, false to find existing mutexes,
+	 * which are held by the benchmark, so they aren't collected between invocations
+	 */
+	@Param({"true", "false"})
+	public boolean absent;
+
+	@Param({"weak-map", "compact", "concurrent-map"})
+	public String factoryType;
+
+	private List<Long> keys;
+	private XMutexFactory<Long> factory;
+	private List<XMutex<Long>> retained;
+
+	@Setup(Level.Trial)
+	public void setUpKeys() {
+		keys = new ArrayList<>(keysCount);
+		for (int i = 0; i < keysCount; i++) {
+			keys.add(ThreadLocalRandom.current().nextLong());
+		}
+		factory = newFactory();
+		if (!absent) {
+			retained = new ArrayList<>(keysCount);
+			for (Long key : keys) {
+				retained.add(factory.getMutex(key));
+			}
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpFactory() {
+		if (absent) {
+			factory = newFactory();
+		}
+	}
+
+	@Benchmark
+	public void getMutexPerKey(Blackhole blackhole) {
+		for (Long key : keys) {
+			blackhole.consume(factory.getMutex(key));
+		}
+	}
+
+	@Benchmark
+	public List<XMutex<Long>> getMutexes() {
+		return factory.getMutexes(keys);
+	}
+
+	private XMutexFactory<Long> newFactory() {
+		switch (factoryType) {
+			case "compact":
+				return new CompactXMutexFactory<>();
+			case "concurrent-map":
+				return new ConcurrentHashMapXMutexFactory<>();
+			default:
+				return new XMutexFactoryImpl<>();
+		}
+	}
+}
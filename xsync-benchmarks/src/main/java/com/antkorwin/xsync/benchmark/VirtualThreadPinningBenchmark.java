@@ -0,0 +1,122 @@
+package com.antkorwin.xsync.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.antkorwin.xsync.XSync;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Availability of carrier threads when virtual threads
+ * wait for keys and block inside critical sections.
+ * <p>
+ * Background virtual threads lock a few hot keys and park inside
+ * the critical section. Each benchmark call starts one more virtual thread,
+ * which doesn't touch keys at all, and measures how long it takes to run it.
+ * When locking pins virtual threads (a monitor on JDK 21-23), the owner
+ * and all waiters of a key hold their carriers, so the probe waits for
+ * a free carrier. XSync locks a {@code ReentrantLock}, so blocked virtual
+ * threads unmount and the probe runs almost immediately.
+ * <p>
+ * The number of carriers is limited by the fork options, requires JDK 21+.
+ *
+ * @author Korovin Anatoliy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djdk.virtualThreadScheduler.parallelism=4",
+                                  "-Djdk.virtualThreadScheduler.maxPoolSize=4"})
+public class VirtualThreadPinningBenchmark {
+
+	public enum Locking {
+		XSYNC,
+		MONITOR
+	}
+
+	@Param({"XSYNC", "MONITOR"})
+	public Locking locking;
+
+	/**
+	 * count of virtual threads which compete for hot keys
+	 */
+	@Param({"64"})
+	public int lockers;
+
+	/**
+	 * count of hot keys
+	 */
+	@Param({"4"})
+	public int keys;
+
+	/**
+	 * time to block inside the critical section
+	 */
+	@Param({"100"})
+	public long holdMicros;
+
+	private final XSync<Long> xSync = new XSync<>();
+	private final ConcurrentHashMap<Long, Object> monitors = new ConcurrentHashMap<>();
+	private final List<Thread> threads = new ArrayList<>();
+	private volatile boolean running;
+
+	@Setup(Level.Trial)
+	public void startLockers() {
+		VirtualThreads.checkSupported();
+		running = true;
+		for (int i = 0; i < lockers; i++) {
+			threads.add(VirtualThreads.start(this::lockInLoop));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void stopLockers() throws InterruptedException {
+		running = false;
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		threads.clear();
+	}
+
+	@Benchmark
+	public void carrierWait() throws InterruptedException {
+		VirtualThreads.start(() -> { }).join();
+	}
+
+	private void lockInLoop() {
+		while (running) {
+			Long key = Long.valueOf(ThreadLocalRandom.current().nextInt(keys));
+			if (locking == Locking.XSYNC) {
+				xSync.execute(key, this::hold);
+			} else {
+				synchronized (monitors.computeIfAbsent(key, k -> new Object())) {
+					hold();
+				}
+			}
+		}
+	}
+
+	private void hold() {
+		LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(holdMicros));
+	}
+}
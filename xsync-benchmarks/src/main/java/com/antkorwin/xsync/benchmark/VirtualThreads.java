@@ -0,0 +1,55 @@
+package com.antkorwin.xsync.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Created on 16/10/2026
+ * <p>
+ * Starts virtual threads by the reflection, so the benchmarks
+ * are still compiled for Java 8 and run on JDK 21+ only when it's needed.
+ *
+ * @author Korovin Anatoliy
+ */
+final class VirtualThreads {
+
+	private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+	private static final Method START = findMethod(builderClass(), "start", Runnable.class);
+
+	private VirtualThreads() {
+	}
+
+	static void checkSupported() {
+		if (OF_VIRTUAL == null || START == null) {
+			throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer, current version: " +
+			                                        System.getProperty("java.version"));
+		}
+	}
+
+	static Thread start(Runnable task) {
+		try {
+			return (Thread) START.invoke(OF_VIRTUAL.invoke(null), task);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Unable to start a virtual thread", e);
+		}
+	}
+
+	private static Class<?> builderClass() {
+		try {
+			return Class.forName("java.lang.Thread$Builder");
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+		if (type == null) {
+			return null;
+		}
+		try {
+			return type.getMethod(name, parameterTypes);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}